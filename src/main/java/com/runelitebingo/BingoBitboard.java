@@ -0,0 +1,212 @@
+package com.runelitebingo;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * The completed tiles of a square bingo board, packed one bit per tile into <code>long</code> words.
+ *
+ * Tile (row, col) is bit <code>row * boardSize + col</code>. The masks of every enabled {@link WinPattern} are
+ * compiled into one flat array over the same words, so checking for a win is a single pass of AND and compare
+ * operations, however many patterns are enabled.
+ *
+ * Each mask also keeps a count of its uncompleted tiles, with the masks bucketed by that count. Completing a tile
+ * only updates the masks it belongs to, so how close the board is to a win is known without scanning the board.
+ * Safe to use from any thread.
+ */
+class BingoBitboard {
+
+    private final int boardSize;
+    private final int wordCount;
+    private final long[] completed;
+    // The win masks, one after another, each wordCount words long.
+    private final long[] winMasks;
+    // The number of uncompleted tiles in each mask.
+    private final int[] remainingTiles;
+    // The indices of the masks containing each tile.
+    private final int[][] masksByTile;
+    // The indices of the masks with each number of uncompleted tiles.
+    private final BitSet[] masksByRemaining;
+    // The lowest count in remainingTiles. Counts only ever go down, so this never has to be searched for.
+    private int fewestRemaining = Integer.MAX_VALUE;
+    private BingoProgress progress;
+
+    /**
+     * @param boardSize The number of rows and columns of the board.
+     * @param winMasks The masks to check for a win; completing every tile of any one of them wins.
+     */
+    BingoBitboard(int boardSize, Collection<BitSet> winMasks) {
+        this.boardSize = boardSize;
+        this.wordCount = (boardSize * boardSize + Long.SIZE - 1) / Long.SIZE;
+        this.completed = new long[this.wordCount];
+
+        List<BitSet> compiled = compile(winMasks);
+        this.winMasks = new long[compiled.size() * this.wordCount];
+        for (int i = 0; i < compiled.size(); i++) {
+            long[] words = compiled.get(i).toLongArray();
+            System.arraycopy(words, 0, this.winMasks, i * this.wordCount, Math.min(words.length, this.wordCount));
+        }
+
+        int tileCount = boardSize * boardSize;
+        this.remainingTiles = new int[compiled.size()];
+        this.masksByRemaining = new BitSet[tileCount + 1];
+        for (int remaining = 0; remaining <= tileCount; remaining++) {
+            this.masksByRemaining[remaining] = new BitSet();
+        }
+        List<List<Integer>> masksByTile = new ArrayList<>();
+        for (int tile = 0; tile < tileCount; tile++) {
+            masksByTile.add(new ArrayList<>());
+        }
+        for (int i = 0; i < compiled.size(); i++) {
+            BitSet mask = compiled.get(i);
+            for (int tile = mask.nextSetBit(0); tile >= 0 && tile < tileCount; tile = mask.nextSetBit(tile + 1)) {
+                masksByTile.get(tile).add(i);
+            }
+            this.remainingTiles[i] = mask.cardinality();
+            this.masksByRemaining[this.remainingTiles[i]].set(i);
+            this.fewestRemaining = Math.min(this.fewestRemaining, this.remainingTiles[i]);
+        }
+        this.masksByTile = new int[tileCount][];
+        for (int tile = 0; tile < tileCount; tile++) {
+            List<Integer> masks = masksByTile.get(tile);
+            this.masksByTile[tile] = new int[masks.size()];
+            for (int i = 0; i < masks.size(); i++) {
+                this.masksByTile[tile][i] = masks.get(i);
+            }
+        }
+        this.progress = this.computeProgress();
+    }
+
+    /**
+     * Removes masks that can never be the first to be completed: duplicates, and masks containing every tile of
+     * another mask. Enabling a pattern that only adds such masks, such as a blackout alongside rows, costs nothing.
+     */
+    private static List<BitSet> compile(Collection<BitSet> winMasks) {
+        List<BitSet> distinct = new ArrayList<>(new LinkedHashSet<>(winMasks));
+        List<BitSet> compiled = new ArrayList<>();
+        for (BitSet mask : distinct) {
+            if (mask.isEmpty()) {
+                continue;
+            }
+            boolean redundant = false;
+            for (BitSet other : distinct) {
+                if (other != mask && !other.isEmpty() && isSubset(other, mask)) {
+                    redundant = true;
+                    break;
+                }
+            }
+            if (!redundant) {
+                compiled.add(mask);
+            }
+        }
+        return compiled;
+    }
+
+    private static boolean isSubset(BitSet subset, BitSet superset) {
+        BitSet outside = (BitSet) subset.clone();
+        outside.andNot(superset);
+        return outside.isEmpty();
+    }
+
+    /**
+     * Marks a tile as completed. Tasks never become incomplete again, so tiles are never cleared.
+     * @param row The row of the tile.
+     * @param col The column of the tile.
+     * @return Whether the tile was not already marked.
+     */
+    synchronized boolean markCompleted(int row, int col) {
+        int bit = this.bitIndex(row, col);
+        if (isBitSet(this.completed, bit)) {
+            return false;
+        }
+        setBit(this.completed, bit);
+        for (int mask : this.masksByTile[bit]) {
+            int remaining = this.remainingTiles[mask];
+            this.masksByRemaining[remaining].clear(mask);
+            this.masksByRemaining[remaining - 1].set(mask);
+            this.remainingTiles[mask] = remaining - 1;
+            this.fewestRemaining = Math.min(this.fewestRemaining, remaining - 1);
+        }
+        this.progress = this.computeProgress();
+        return true;
+    }
+
+    /**
+     * @return How close the board is to a win, as of the last tile to be completed.
+     */
+    synchronized BingoProgress getProgress() {
+        return this.progress;
+    }
+
+    /**
+     * Finds the uncompleted tiles shared by the most of the masks closest to completion. Only those masks are
+     * visited, a word at a time, so this stays cheap enough to run on every completion.
+     */
+    private BingoProgress computeProgress() {
+        if (this.fewestRemaining == Integer.MAX_VALUE) {
+            return new BingoProgress(0, 0, Collections.emptyList(), 0);
+        }
+        BitSet closestMasks = this.masksByRemaining[this.fewestRemaining];
+        if (this.fewestRemaining == 0) {
+            return new BingoProgress(0, closestMasks.cardinality(), Collections.emptyList(), 0);
+        }
+
+        int[] closestMaskCounts = new int[this.boardSize * this.boardSize];
+        int mostMasks = 0;
+        for (int mask = closestMasks.nextSetBit(0); mask >= 0; mask = closestMasks.nextSetBit(mask + 1)) {
+            int offset = mask * this.wordCount;
+            for (int word = 0; word < this.wordCount; word++) {
+                long uncompleted = this.winMasks[offset + word] & ~this.completed[word];
+                while (uncompleted != 0) {
+                    int tile = word * Long.SIZE + Long.numberOfTrailingZeros(uncompleted);
+                    mostMasks = Math.max(mostMasks, ++closestMaskCounts[tile]);
+                    uncompleted &= uncompleted - 1;
+                }
+            }
+        }
+        List<Point> keyTiles = new ArrayList<>();
+        for (int tile = 0; tile < closestMaskCounts.length; tile++) {
+            if (closestMaskCounts[tile] == mostMasks) {
+                keyTiles.add(new Point(tile % this.boardSize, tile / this.boardSize));
+            }
+        }
+        return new BingoProgress(this.fewestRemaining, closestMasks.cardinality(), keyTiles, mostMasks);
+    }
+
+    synchronized boolean isCompleted(int row, int col) {
+        return isBitSet(this.completed, this.bitIndex(row, col));
+    }
+
+    /**
+     * @return Whether every tile of any win mask is completed.
+     */
+    synchronized boolean hasWon() {
+        for (int offset = 0; offset < this.winMasks.length; offset += this.wordCount) {
+            int word = 0;
+            while (word < this.wordCount && (this.completed[word] & this.winMasks[offset + word]) == this.winMasks[offset + word]) {
+                word++;
+            }
+            if (word == this.wordCount) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int bitIndex(int row, int col) {
+        return row * this.boardSize + col;
+    }
+
+    private static void setBit(long[] words, int bit) {
+        words[bit / Long.SIZE] |= 1L << (bit % Long.SIZE);
+    }
+
+    private static boolean isBitSet(long[] words, int bit) {
+        return (words[bit / Long.SIZE] & (1L << (bit % Long.SIZE))) != 0;
+    }
+}
@@ -12,12 +12,12 @@ public class BingoConstraint {
     // TODO: Create the bingo constraint class. Constrains bingo to adhere to only combat tasks,
     // tasks with a certain duration, only skilling tasks, etc...
 
-    IRunescapeTask[][] createTasks(IMinigamePlugin plugin) {
+    IRunescapeTask[][] createTasks(IMinigamePlugin plugin, int boardSize) {
         throw new NotImplementedException("Constraints are not yet supported.");
     }
 
-    static IRunescapeTask[][] randomTasks(IMinigamePlugin plugin) {
-        IRunescapeTask[][] tasks = new IRunescapeTask[5][5];
+    static IRunescapeTask[][] randomTasks(IMinigamePlugin plugin, int boardSize) {
+        IRunescapeTask[][] tasks = new IRunescapeTask[boardSize][boardSize];
         for (int i = 0; i < tasks.length; i++) {
             for (int j = 0; j < tasks[i].length; j++) {
                 IRunescapeTask task;
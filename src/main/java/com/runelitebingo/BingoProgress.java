@@ -0,0 +1,54 @@
+package com.runelitebingo;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * How close a bingo board is to being won: the fewest tasks left on any winning pattern, and the uncompleted tiles
+ * shared by the most of those closest patterns. Instances are immutable snapshots, taken whenever a tile is completed.
+ */
+public final class BingoProgress {
+
+    private final int tasksRemaining;
+    private final int closestPatternCount;
+    private final List<Point> keyTiles;
+    private final int keyTilePatternCount;
+
+    BingoProgress(int tasksRemaining, int closestPatternCount, List<Point> keyTiles, int keyTilePatternCount) {
+        this.tasksRemaining = tasksRemaining;
+        this.closestPatternCount = closestPatternCount;
+        this.keyTiles = Collections.unmodifiableList(new ArrayList<>(keyTiles));
+        this.keyTilePatternCount = keyTilePatternCount;
+    }
+
+    /**
+     * @return The fewest tasks left to complete any one winning pattern; 0 once the game is won.
+     */
+    public int getTasksRemaining() {
+        return this.tasksRemaining;
+    }
+
+    /**
+     * @return How many winning patterns have only {@link #getTasksRemaining()} tasks left.
+     */
+    public int getClosestPatternCount() {
+        return this.closestPatternCount;
+    }
+
+    /**
+     * @return The uncompleted tiles that appear on the most of the closest patterns, as (column, row) points in
+     *      row-major order. Empty once the game is won.
+     */
+    public List<Point> getKeyTiles() {
+        return this.keyTiles;
+    }
+
+    /**
+     * @return How many of the closest patterns each of the key tiles appears on.
+     */
+    public int getKeyTilePatternCount() {
+        return this.keyTilePatternCount;
+    }
+}
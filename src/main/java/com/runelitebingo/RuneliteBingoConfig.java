@@ -3,6 +3,8 @@ package com.runelitebingo;
 import net.runelite.client.config.Config;
 import net.runelite.client.config.ConfigGroup;
 import net.runelite.client.config.ConfigItem;
+import net.runelite.client.config.Range;
+import net.runelite.client.config.Units;
 
 @ConfigGroup("RuneliteBingo")
 public interface RuneliteBingoConfig extends Config
@@ -16,4 +18,105 @@ public interface RuneliteBingoConfig extends Config
 	{
 		return "Hello";
 	}
+
+	@Range(
+		min = 1,
+		max = 60
+	)
+	@Units(Units.FPS)
+	@ConfigItem(
+		keyName = "maxRedrawsPerSecond",
+		name = "Max redraws per second",
+		description = "How often the bingo overlay may be redrawn. Lower values use less CPU while the board is changing"
+	)
+	default int maxRedrawsPerSecond()
+	{
+		return 30;
+	}
+
+	@Range(
+		min = SinglePlayerBingoGame.MINIMUM_BOARD_SIZE,
+		max = SinglePlayerBingoGame.MAXIMUM_BOARD_SIZE
+	)
+	@ConfigItem(
+		keyName = "boardSize",
+		name = "Board size",
+		description = "The number of rows and columns of new bingo boards. Existing boards keep their size"
+	)
+	default int boardSize()
+	{
+		return SinglePlayerBingoGame.DEFAULT_BOARD_SIZE;
+	}
+
+	// One checkbox per win pattern. Every version of the config manager stores booleans, whereas the RuneLite version
+	// this is built against isn't known to store sets of enums.
+	@ConfigItem(
+		keyName = "winRows",
+		name = "Win with rows",
+		description = "Whether new bingo boards are won by completing any row. Existing boards keep their patterns"
+	)
+	default boolean winRows()
+	{
+		return SinglePlayerBingoGame.DEFAULT_WIN_PATTERNS.contains(WinPattern.ROWS);
+	}
+
+	@ConfigItem(
+		keyName = "winColumns",
+		name = "Win with columns",
+		description = "Whether new bingo boards are won by completing any column. Existing boards keep their patterns"
+	)
+	default boolean winColumns()
+	{
+		return SinglePlayerBingoGame.DEFAULT_WIN_PATTERNS.contains(WinPattern.COLUMNS);
+	}
+
+	@ConfigItem(
+		keyName = "winDiagonals",
+		name = "Win with diagonals",
+		description = "Whether new bingo boards are won by completing either diagonal. Existing boards keep their patterns"
+	)
+	default boolean winDiagonals()
+	{
+		return SinglePlayerBingoGame.DEFAULT_WIN_PATTERNS.contains(WinPattern.DIAGONALS);
+	}
+
+	@ConfigItem(
+		keyName = "winFourCorners",
+		name = "Win with four corners",
+		description = "Whether new bingo boards are won by completing the four corners. Existing boards keep their patterns"
+	)
+	default boolean winFourCorners()
+	{
+		return SinglePlayerBingoGame.DEFAULT_WIN_PATTERNS.contains(WinPattern.FOUR_CORNERS);
+	}
+
+	@ConfigItem(
+		keyName = "winX",
+		name = "Win with an X",
+		description = "Whether new bingo boards are won by completing both diagonals. Existing boards keep their patterns"
+	)
+	default boolean winX()
+	{
+		return SinglePlayerBingoGame.DEFAULT_WIN_PATTERNS.contains(WinPattern.X);
+	}
+
+	@ConfigItem(
+		keyName = "winBlackout",
+		name = "Win with a blackout",
+		description = "Whether new bingo boards are won by completing every task on the board. Existing boards keep their patterns"
+	)
+	default boolean winBlackout()
+	{
+		return SinglePlayerBingoGame.DEFAULT_WIN_PATTERNS.contains(WinPattern.BLACKOUT);
+	}
+
+	@ConfigItem(
+		keyName = "showRenderTimings",
+		name = "Show render timings",
+		description = "Draws how long each stage of drawing the bingo overlay takes, for debugging"
+	)
+	default boolean showRenderTimings()
+	{
+		return false;
+	}
 }
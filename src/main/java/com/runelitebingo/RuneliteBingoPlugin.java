@@ -4,7 +4,9 @@ import com.google.inject.Binder;
 import com.google.inject.Provides;
 import com.runeliteminigame.IMinigamePlugin;
 import com.runeliteminigame.display.MinigameDisplayContainer;
+import com.runeliteminigame.display.RenderStats;
 import com.runeliteminigame.pluginlisteners.ICombatListener;
+import com.runeliteminigame.util.SpriteAtlas;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Actor;
 import net.runelite.api.Client;
@@ -18,6 +20,7 @@ import net.runelite.api.events.HitsplatApplied;
 import net.runelite.api.events.NpcDespawned;
 import net.runelite.api.events.WidgetMenuOptionClicked;
 import net.runelite.client.config.ConfigManager;
+import net.runelite.client.events.ConfigChanged;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.game.SpriteManager;
@@ -29,8 +32,14 @@ import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.ui.overlay.OverlayManager;
 
 import javax.inject.Inject;
-import java.util.ArrayList;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.Hashtable;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 @Slf4j
 @PluginDescriptor(
@@ -39,6 +48,11 @@ import java.util.Hashtable;
 )
 public class RuneliteBingoPlugin extends Plugin implements IMinigamePlugin
 {
+	// The config keys of the win pattern checkboxes in RuneliteBingoConfig.
+	private static final Set<String> WIN_PATTERN_KEYS = new HashSet<>(Arrays.asList(
+		"winRows", "winColumns", "winDiagonals", "winFourCorners", "winX", "winBlackout"
+	));
+
 	@Inject
 	private Client client;
 
@@ -71,16 +85,38 @@ public class RuneliteBingoPlugin extends Plugin implements IMinigamePlugin
 	@Inject
 	private MouseManager mouseManager;
 
-	// We'll have to iterate over them all with each death, and remove will be infrequent.
-	// Arraylist is therefore fine.
-	private final ArrayList<ICombatListener> playerKilledNPCListeners = new ArrayList<>();
+	// Iterated on every death, while adding and removing is rare, so a copy-on-write list is cheap here.
+	// Listeners unregister themselves from inside onPlayerKilledNPC once their task is completed. This relies on
+	// iteration running over a snapshot: the listener is removed from the list but still receives the current kill,
+	// and the remaining listeners are neither skipped nor notified twice.
+	private final CopyOnWriteArrayList<ICombatListener> playerKilledNPCListeners = new CopyOnWriteArrayList<>();
 
 	private final Hashtable<NPC, Integer> playerDamageDealt = new Hashtable<>();
 
+	// Overlay frames are built off of the client thread, where the sprite manager can't be used directly.
+	private final ConcurrentHashMap<Integer, BufferedImage> loadedSprites = new ConcurrentHashMap<>();
+	private final Set<Integer> pendingSprites = ConcurrentHashMap.newKeySet();
+	private final SpriteAtlas spriteAtlas = new SpriteAtlas(this);
+
 	public void requestRedraw() {
 		this.bingoOverlay.requestRedraw();
 	}
 
+	@Override
+	public void requestHighlightRedraw() {
+		this.bingoOverlay.requestHighlightRedraw();
+	}
+
+	@Override
+	public void requestModalRedraw() {
+		this.bingoOverlay.requestModalRedraw();
+	}
+
+	@Override
+	public RenderStats getRenderStats() {
+		return this.bingoOverlay.getRenderStats();
+	}
+
 	@Override
 	public String name() {
 		return "Bingo Plugin";
@@ -127,13 +163,68 @@ public class RuneliteBingoPlugin extends Plugin implements IMinigamePlugin
 		return this.spriteManager;
 	}
 
+	@Override
+	public BufferedImage getSprite(int spriteID) {
+		BufferedImage sprite = this.loadedSprites.get(spriteID);
+		if (sprite == null && this.pendingSprites.add(spriteID)) {
+			this.spriteManager.getSpriteAsync(spriteID, 0, loaded -> {
+				this.loadedSprites.put(spriteID, loaded);
+				this.pendingSprites.remove(spriteID);
+				this.requestRedraw();
+			});
+		}
+		return sprite;
+	}
+
+	@Override
+	public SpriteAtlas getSpriteAtlas() {
+		return this.spriteAtlas;
+	}
+
 	@Override
 	protected void startUp() throws Exception
 	{
 		bingoOverlay = new MinigameDisplayContainer(this);
+		bingoOverlay.setMaxRedrawsPerSecond(config.maxRedrawsPerSecond());
+		bingoOverlay.setDebugHudEnabled(config.showRenderTimings());
+		bingoOverlay.setNewBoardSize(config.boardSize());
+		bingoOverlay.setNewWinPatterns(this.getConfiguredWinPatterns());
 		overlayManager.add(bingoOverlay);
 	}
 
+	/**
+	 * @return The win patterns checked in the config, which may be empty.
+	 */
+	private Set<WinPattern> getConfiguredWinPatterns()
+	{
+		Set<WinPattern> winPatterns = EnumSet.noneOf(WinPattern.class);
+		if (config.winRows())
+		{
+			winPatterns.add(WinPattern.ROWS);
+		}
+		if (config.winColumns())
+		{
+			winPatterns.add(WinPattern.COLUMNS);
+		}
+		if (config.winDiagonals())
+		{
+			winPatterns.add(WinPattern.DIAGONALS);
+		}
+		if (config.winFourCorners())
+		{
+			winPatterns.add(WinPattern.FOUR_CORNERS);
+		}
+		if (config.winX())
+		{
+			winPatterns.add(WinPattern.X);
+		}
+		if (config.winBlackout())
+		{
+			winPatterns.add(WinPattern.BLACKOUT);
+		}
+		return winPatterns;
+	}
+
 	@Override
 	protected void shutDown() throws Exception
 	{
@@ -141,6 +232,31 @@ public class RuneliteBingoPlugin extends Plugin implements IMinigamePlugin
 		overlayManager.remove(bingoOverlay);
 	}
 
+	@Subscribe
+	public void onConfigChanged(ConfigChanged event)
+	{
+		if (!event.getGroup().equals("RuneliteBingo"))
+		{
+			return;
+		}
+		if (event.getKey().equals("maxRedrawsPerSecond"))
+		{
+			bingoOverlay.setMaxRedrawsPerSecond(config.maxRedrawsPerSecond());
+		}
+		else if (event.getKey().equals("showRenderTimings"))
+		{
+			bingoOverlay.setDebugHudEnabled(config.showRenderTimings());
+		}
+		else if (event.getKey().equals("boardSize"))
+		{
+			bingoOverlay.setNewBoardSize(config.boardSize());
+		}
+		else if (WIN_PATTERN_KEYS.contains(event.getKey()))
+		{
+			bingoOverlay.setNewWinPatterns(this.getConfiguredWinPatterns());
+		}
+	}
+
 	@Subscribe
 	public void onGameStateChanged(GameStateChanged event)
 	{
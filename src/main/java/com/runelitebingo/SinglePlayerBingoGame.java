@@ -1,39 +1,73 @@
 package com.runelitebingo;
 
 import com.runeliteminigame.IMinigamePlugin;
+import com.runeliteminigame.display.Highlight;
 import com.runeliteminigame.display.IDisplayableMinigame;
 import com.runeliteminigame.display.RelativeMinigameComponentStruct;
+import com.runeliteminigame.display.RenderStats;
 import com.runeliteminigame.tasks.CombatTask;
 import com.runeliteminigame.tasks.IRunescapeTask;
-import com.runeliteminigame.util.CommonImages;
+import com.runeliteminigame.tasks.ITaskListener;
+import com.runeliteminigame.tasks.TaskCompletedEvent;
+import com.runeliteminigame.util.DrawingScope;
+import com.runeliteminigame.util.ImageAllocator;
 import com.runeliteminigame.util.ImageUtils;
+import com.runeliteminigame.util.MipChain;
+import com.runeliteminigame.util.SpriteAtlas;
+import com.runeliteminigame.util.WrappedText;
 import net.runelite.api.SpriteID;
-import net.runelite.client.game.SpriteManager;
-import net.runelite.client.ui.FontManager;
 import net.runelite.client.ui.overlay.components.BackgroundComponent;
 
 import javax.imageio.ImageIO;
+import java.awt.AlphaComposite;
+import java.awt.Color;
 import java.awt.Dimension;
+import java.awt.Graphics2D;
 import java.awt.Point;
 import java.awt.Rectangle;
+import java.awt.Shape;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseWheelEvent;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.Dictionary;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.Hashtable;
-
-public class SinglePlayerBingoGame implements IDisplayableMinigame {
-
-    private static final int NUM_TILES = 5;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import javax.swing.SwingUtilities;
+
+public class SinglePlayerBingoGame implements IDisplayableMinigame, ITaskListener {
+
+    public static final int DEFAULT_BOARD_SIZE = 5;
+    public static final int MINIMUM_BOARD_SIZE = 3;
+    public static final int MAXIMUM_BOARD_SIZE = 15;
+    public static final Set<WinPattern> DEFAULT_WIN_PATTERNS = Collections.unmodifiableSet(
+            EnumSet.of(WinPattern.ROWS, WinPattern.COLUMNS, WinPattern.DIAGONALS)
+    );
     private static final int RECOMMENDED_IMAGE_MINIMUM_SIZE = 40;
     private static final BufferedImage BINGO_IMAGE;
-    private static final int MINIMUM_BOARD_WIDTH = NUM_TILES * RECOMMENDED_IMAGE_MINIMUM_SIZE;
+    private static final int MINIMUM_BOARD_WIDTH = DEFAULT_BOARD_SIZE * RECOMMENDED_IMAGE_MINIMUM_SIZE;
     private static final int MINIMUM_DESCRIPTION_WIDTH = 200;
     private static final int MINIMUM_IMAGE_WIDTH = MINIMUM_BOARD_WIDTH + MINIMUM_DESCRIPTION_WIDTH;
     private static final int MAX_WARNING_WIDTH = 300;
+    private static final int DESCRIPTION_PADDING = 5;
+    private static final int SCROLL_LINES_PER_NOTCH = 2;
+    private static final Color SCROLL_BAR_COLOR = new Color(255, 255, 255, 120);
+    // Each mouse wheel notch over the board zooms in or out by this factor.
+    private static final double ZOOM_PER_NOTCH = 1.25;
+    // The board can be zoomed in until this many tiles fill its width.
+    private static final int MINIMUM_VISIBLE_TILES = 3;
+    // Tiles are never drawn from a task image larger than this, however far the board is zoomed in. Large enough for
+    // a fully zoomed-in tile on a display scaled to 400%.
+    private static final int MAXIMUM_TILE_IMAGE_SIZE = 512;
 
     static {
         // Sets the bingo image.
@@ -55,48 +89,213 @@ public class SinglePlayerBingoGame implements IDisplayableMinigame {
     }
 
     // Restrict constructor access to this class; users need to call createGame or loadGameFrom.
-    private SinglePlayerBingoGame(IMinigamePlugin plugin) {
+    private SinglePlayerBingoGame(IMinigamePlugin plugin, int boardSize, Set<WinPattern> winPatterns, List<BitSet> customWinMasks) {
+        if (boardSize < MINIMUM_BOARD_SIZE || boardSize > MAXIMUM_BOARD_SIZE) {
+            throw new IllegalArgumentException("Invalid bingo board size: " + boardSize);
+        }
+        if (winPatterns.isEmpty() && customWinMasks.isEmpty()) {
+            throw new IllegalArgumentException("A bingo game needs at least one win pattern");
+        }
+        List<BitSet> winMasks = new ArrayList<>();
+        for (WinPattern pattern : winPatterns) {
+            winMasks.addAll(pattern.getMasks(boardSize));
+        }
+        for (BitSet mask : customWinMasks) {
+            if (mask.isEmpty() || mask.length() > boardSize * boardSize) {
+                throw new IllegalArgumentException("Invalid custom win pattern for a board of size " + boardSize + ": " + mask);
+            }
+            winMasks.add((BitSet) mask.clone());
+        }
         this.backgroundComponent = new BackgroundComponent();
         this.backgroundComponent.setFill(false);
         this.plugin = plugin;
-        this.spriteManager = plugin.getSpriteManager();
+        this.boardSize = boardSize;
+        this.tasks = new IRunescapeTask[boardSize][boardSize];
+        this.winPatterns = winPatterns.isEmpty() ? EnumSet.noneOf(WinPattern.class) : EnumSet.copyOf(winPatterns);
+        this.customWinMasks = new ArrayList<>();
+        for (BitSet mask : customWinMasks) {
+            this.customWinMasks.add((BitSet) mask.clone());
+        }
+        this.completedTiles = new BingoBitboard(boardSize, winMasks);
     }
 
-    private boolean promptingDelete = false;
-    private boolean isDeleting = false;
+    /**
+     * The part of the board that is shown: how far it is zoomed in, and the position of the top-left corner of the
+     * view within the zoomed board, in pixels. Instances are immutable, so a viewport can be shared between threads.
+     */
+    private static final class BoardViewport {
+        static final BoardViewport WHOLE_BOARD = new BoardViewport(1.0, 0, 0);
+
+        final double zoom;
+        final int x;
+        final int y;
+
+        BoardViewport(double zoom, int x, int y) {
+            this.zoom = zoom;
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof BoardViewport)) {
+                return false;
+            }
+            BoardViewport viewport = (BoardViewport) other;
+            return this.zoom == viewport.zoom && this.x == viewport.x && this.y == viewport.y;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.zoom, this.x, this.y);
+        }
+    }
 
-    private boolean cancelled = false;
-    private Point selectedTask = null;
-    private Point hoveredTask = null;
-    private Point previousRelativePoint = new Point(-1, -1);
-    private final IRunescapeTask[][] tasks = new IRunescapeTask[5][5];
-    private Rectangle boardRectangle = null;
-    private Rectangle descriptionRectangle = null;
+    // Set by the input thread, read when drawing the modal.
+    private volatile boolean promptingDelete = false;
+    // Set by the input thread, read by the render thread.
+    private volatile boolean isDeleting = false;
+
+    private volatile boolean cancelled = false;
+    // Written by the input thread, read while building frames. Always replaced rather than modified, and read once
+    // into a local wherever it is used more than once, so a build never sees two different selections.
+    private volatile Point selectedTask = null;
+    // Written by the input thread, read when drawing the highlight.
+    private volatile Point hoveredTask = null;
+    // The last mouse position over the board, in the pixels of the main image.
+    private Point previousImagePoint = new Point(-1, -1);
+    // Where the board was last dragged from, in the pixels of the main image, while the left button is held after
+    // being pressed on the board.
+    private Point dragPoint = null;
+    // Written by the input thread when zooming or panning. Clamped to the board's size when it's used.
+    private volatile BoardViewport viewport = BoardViewport.WHOLE_BOARD;
+    // The viewport the board buffer was last drawn with.
+    private BoardViewport drawnViewport = null;
+    // The board is boardSize by boardSize tiles, indexed by row and then column.
+    private final int boardSize;
+    private final IRunescapeTask[][] tasks;
+    private final HashMap<IRunescapeTask, Point> taskPositions = new HashMap<>();
+    // The board is kept between redraws; only tiles flagged as dirty are repainted into it.
+    // One bit per tile, at row * boardSize + column. Guarded by its own lock, since tasks progress on another thread.
+    private BufferedImage boardBuffer = null;
+    private final BitSet dirtyTiles = new BitSet();
+    // Dirty tiles whose task image changed, as opposed to only their background. Guarded by the dirtyTiles lock.
+    private final BitSet changedTaskImages = new BitSet();
+    // Tiles whose background sprite was still loading when they were last drawn. They are drawn again on every
+    // redraw until the sprite is available. Only used while drawing the board.
+    private final BitSet tilesAwaitingSprites = new BitSet();
+    // The images of each task at the sizes the board has been drawn at, so that zooming doesn't redraw every task.
+    // Dropped when the task's image changes, but kept when only the tile's background does, such as when it is
+    // selected. Only used while drawing the board.
+    private final HashMap<IRunescapeTask, MipChain> tileImages = new HashMap<>();
+    // The hovered tile is drawn into this surface, which is reused while the hovered tile's visible size is the same.
+    // Only used while building frames.
+    private BufferedImage highlightSurface = null;
+    // Where the board and description were last drawn within the main image, in the image's pixels. Written while
+    // building frames and read by the input thread, so they are always replaced rather than modified.
+    private volatile Rectangle boardRectangle = null;
+    private volatile Rectangle descriptionRectangle = null;
+    // The number of main image pixels per unit of the requested dimension, as of the last frame. Mouse positions are
+    // multiplied by it to find what they point at.
+    private volatile double renderScale = 1.0;
+    // The description pane is only redrawn when its text or size changes.
+    private BufferedImage cachedDescriptionImage = null;
+    private String cachedDescriptionText = null;
+    private int cachedDescriptionScrollLine = -1;
+    private double cachedDescriptionScale = 0;
+    // The first line shown in the description pane, written by the input thread when scrolling.
+    private volatile int descriptionScrollLine = 0;
+    // The last line the pane can scroll to for the current text, updated whenever the pane is drawn.
+    private volatile int descriptionMaxScrollLine = 0;
+    // The board and description are assembled into the same image on every redraw while its size stays the same.
+    private BufferedImage mainImage = null;
+    // The delete confirmation never changes, so it is only drawn again when the overlay size changes.
+    private BufferedImage cachedModalImage = null;
     private final BackgroundComponent backgroundComponent;
     private final IMinigamePlugin plugin;
-    private final SpriteManager spriteManager;
-    private BufferedImage BANK_TAB_EMPTY;
-    private BufferedImage BANK_TAB_HOVERED;
-    private BufferedImage BANK_TAB_SELECTED;
+    // Last seen generation of the sprite atlas; tiles are redrawn when sprites finish loading.
+    private int spriteAtlasGeneration = -1;
+    // Fixed when the game is created, and saved with it.
+    private final EnumSet<WinPattern> winPatterns;
+    private final List<BitSet> customWinMasks;
+    // Which tiles are completed, updated as tasks progress. The icon is only redrawn when the game's completion flips.
+    private final BingoBitboard completedTiles;
+    private BufferedImage cachedIcon = null;
+    private BufferedImage cachedIconSource = null;
+    private boolean cachedIconCompleted = false;
+    private int cachedIconAtlasGeneration = -1;
 
     public static SinglePlayerBingoGame createGame(BingoConstraint constraint, IMinigamePlugin plugin) {
-        SinglePlayerBingoGame game = new SinglePlayerBingoGame(plugin);
+        return SinglePlayerBingoGame.createGame(constraint, DEFAULT_BOARD_SIZE, plugin);
+    }
+
+    public static SinglePlayerBingoGame createGame(BingoConstraint constraint, int boardSize, IMinigamePlugin plugin) {
+        return SinglePlayerBingoGame.createGame(constraint, boardSize, DEFAULT_WIN_PATTERNS, Collections.emptyList(), plugin);
+    }
+
+    /**
+     * Creates a new game with a square board.
+     * @param constraint The constraint the tasks must satisfy, or null for random tasks.
+     * @param boardSize The number of rows and columns of the board, between {@link #MINIMUM_BOARD_SIZE} and
+     *                  {@link #MAXIMUM_BOARD_SIZE}.
+     * @param winPatterns The patterns that win the game.
+     * @param customWinMasks Any further tiles that win the game when all of them are completed, one mask per
+     *                       pattern, with bit <code>row * boardSize + col</code> standing for the tile at (row, col).
+     * @param plugin The plugin that the game's tasks are tracked by.
+     * @return The new game.
+     */
+    public static SinglePlayerBingoGame createGame(
+            BingoConstraint constraint,
+            int boardSize,
+            Set<WinPattern> winPatterns,
+            List<BitSet> customWinMasks,
+            IMinigamePlugin plugin
+    ) {
+        SinglePlayerBingoGame game = new SinglePlayerBingoGame(plugin, boardSize, winPatterns, customWinMasks);
         IRunescapeTask[][] tasks;
         if (constraint == null) {
-            tasks = BingoConstraint.randomTasks(plugin);
+            tasks = BingoConstraint.randomTasks(plugin, boardSize);
         } else {
-            tasks = constraint.createTasks(plugin);
+            tasks = constraint.createTasks(plugin, boardSize);
         }
         for (int row = 0; row < tasks.length; row++) {
             System.arraycopy(tasks[row], 0, game.tasks[row], 0, tasks[row].length);
         }
+        game.registerTaskListeners();
         return game;
     }
 
     public static SinglePlayerBingoGame loadGameFrom(Dictionary<String, Object> config, IMinigamePlugin plugin) {
         boolean cancelledGame = (boolean)config.get("cancelled");
         Dictionary<String, Object>[][] taskSpecs = (Dictionary<String, Object>[][]) config.get("tasks");
-        SinglePlayerBingoGame game = new SinglePlayerBingoGame(plugin);
+        // Games saved before board sizes were configurable don't store one, and are always square.
+        Object savedBoardSize = config.get("boardSize");
+        int boardSize = savedBoardSize == null ? taskSpecs.length : (int) savedBoardSize;
+        if (taskSpecs.length != boardSize) {
+            throw new IllegalArgumentException("Saved bingo board has " + taskSpecs.length + " rows, expected " + boardSize);
+        }
+        for (Dictionary<String, Object>[] rowSpecs : taskSpecs) {
+            if (rowSpecs.length != boardSize) {
+                throw new IllegalArgumentException("Saved bingo board has a row of " + rowSpecs.length + " tasks, expected " + boardSize);
+            }
+        }
+        // Likewise, older games were always won by the default patterns.
+        Set<WinPattern> winPatterns = DEFAULT_WIN_PATTERNS;
+        String[] savedWinPatterns = (String[]) config.get("winPatterns");
+        if (savedWinPatterns != null) {
+            winPatterns = EnumSet.noneOf(WinPattern.class);
+            for (String pattern : savedWinPatterns) {
+                winPatterns.add(WinPattern.valueOf(pattern));
+            }
+        }
+        List<BitSet> customWinMasks = new ArrayList<>();
+        long[][] savedCustomWinMasks = (long[][]) config.get("customWinMasks");
+        if (savedCustomWinMasks != null) {
+            for (long[] mask : savedCustomWinMasks) {
+                customWinMasks.add(BitSet.valueOf(mask));
+            }
+        }
+        SinglePlayerBingoGame game = new SinglePlayerBingoGame(plugin, boardSize, winPatterns, customWinMasks);
         game.cancelled = cancelledGame;
         for (int row = 0; row < taskSpecs.length; row++) {
             for (int col = 0; col < taskSpecs[row].length; col++) {
@@ -112,13 +311,79 @@ public class SinglePlayerBingoGame implements IDisplayableMinigame {
                 game.tasks[row][col] = task;
             }
         }
+        game.registerTaskListeners();
         return game;
     }
 
+    private void registerTaskListeners() {
+        for (int row = 0; row < this.tasks.length; row++) {
+            for (int col = 0; col < this.tasks[row].length; col++) {
+                this.taskPositions.put(this.tasks[row][col], new Point(col, row));
+                if (this.tasks[row][col].isCompleted()) {
+                    this.completedTiles.markCompleted(row, col);
+                }
+                this.tasks[row][col].addTaskListener(this);
+            }
+        }
+    }
+
+    @Override
+    public void onTaskProgressed(IRunescapeTask task) {
+        this.markTaskImageChanged(this.taskPositions.get(task));
+    }
+
+    @Override
+    public void onTaskCompleted(TaskCompletedEvent event) {
+        Point tile = this.taskPositions.get(event.getTask());
+        if (tile != null) {
+            this.completedTiles.markCompleted(tile.y, tile.x);
+        }
+    }
+
+    @Override
+    public void onTaskImageChanged(IRunescapeTask task) {
+        this.markTaskImageChanged(this.taskPositions.get(task));
+    }
+
+    /**
+     * Marks a tile to be repainted with the task images it already has, for example because its background changed.
+     */
+    private void markTileDirty(Point tile) {
+        if (tile != null) {
+            synchronized (this.dirtyTiles) {
+                this.dirtyTiles.set(tile.y * this.boardSize + tile.x);
+            }
+        }
+    }
+
+    /**
+     * Marks a tile to be repainted after its task's image changed, so the task's images are drawn again as well.
+     */
+    private void markTaskImageChanged(Point tile) {
+        if (tile != null) {
+            synchronized (this.dirtyTiles) {
+                this.dirtyTiles.set(tile.y * this.boardSize + tile.x);
+                this.changedTaskImages.set(tile.y * this.boardSize + tile.x);
+            }
+        }
+    }
+
     @Override
     public Dictionary<String, Object> serializedGame() {
         Dictionary<String, Object> serialized = new Hashtable<>();
         serialized.put("cancelled", cancelled);
+        serialized.put("boardSize", boardSize);
+        String[] winPatternNames = new String[this.winPatterns.size()];
+        int patternIndex = 0;
+        for (WinPattern pattern : this.winPatterns) {
+            winPatternNames[patternIndex++] = pattern.name();
+        }
+        serialized.put("winPatterns", winPatternNames);
+        long[][] customWinMaskWords = new long[this.customWinMasks.size()][];
+        for (int i = 0; i < customWinMaskWords.length; i++) {
+            customWinMaskWords[i] = this.customWinMasks.get(i).toLongArray();
+        }
+        serialized.put("customWinMasks", customWinMaskWords);
 
         Object[][] taskSerialization = new Object[tasks.length][tasks[0].length];
         for (int row = 0; row < taskSerialization.length; row++) {
@@ -130,56 +395,40 @@ public class SinglePlayerBingoGame implements IDisplayableMinigame {
         return serialized;
     }
 
+    /**
+     * Checks the completed tiles against every enabled win pattern. Doesn't query any task, so it is cheap enough to
+     * call on every redraw.
+     */
     @Override
     public boolean isCompleted() {
-        // Check row-wise.
-        for (IRunescapeTask[] taskList: tasks) {
-            boolean completedRow = true;
-            for (IRunescapeTask task: taskList) {
-                if (!task.isCompleted()) {
-                    completedRow = false;
-                    break;
-                }
-            }
-            if (completedRow) {
-                return true;
-            }
-        }
+        return this.completedTiles.hasWon();
+    }
 
-        // Check column-wise.
-        for (int i = 0; i < tasks[0].length; i++) {
-            boolean completedCol = true;
-            for (IRunescapeTask[] row: tasks) {
-                if (!row[i].isCompleted()) {
-                    completedCol = false;
-                    break;
-                }
-            }
-            if (completedCol) {
-                return true;
-            }
-        }
+    /**
+     * @return How close the game is to being won, and which tasks would bring it closest. Kept up to date as tasks
+     *      are completed, so this is cheap to call on every redraw.
+     */
+    public BingoProgress getProgress() {
+        return this.completedTiles.getProgress();
+    }
 
-        // Check crosses.
-        boolean completedCrossTopLeft = true;
-        for (int i = 0; i < tasks.length; i++) {
-            if (!tasks[i][i].isCompleted()) {
-                completedCrossTopLeft = false;
-                break;
-            }
-        }
-        if (completedCrossTopLeft) {
-            return true;
-        }
+    /**
+     * @return The built-in patterns that win this game.
+     */
+    public Set<WinPattern> getWinPatterns() {
+        return Collections.unmodifiableSet(this.winPatterns);
+    }
 
-        boolean completedCrossBottomLeft = true;
-        for (int i = 0; i < tasks.length; i++) {
-            if (!tasks[tasks.length - i - 1][i].isCompleted()) {
-                completedCrossBottomLeft = false;
-                break;
-            }
+    /**
+     * @return Copies of this game's custom win masks, in the form passed to
+     *      {@link #createGame(BingoConstraint, int, Set, List, IMinigamePlugin)}.
+     */
+    public List<BitSet> getCustomWinMasks() {
+        List<BitSet> masks = new ArrayList<>();
+        for (BitSet mask : this.customWinMasks) {
+            masks.add((BitSet) mask.clone());
         }
-        return completedCrossBottomLeft;
+        return masks;
     }
 
     @Override
@@ -196,7 +445,13 @@ public class SinglePlayerBingoGame implements IDisplayableMinigame {
     public void promptDelete() {
         if (!this.isDeleting) {
             this.promptingDelete = true;
-            this.plugin.requestRedraw();
+            // The board is covered by the prompt, so it keeps its hover state only until the prompt is closed.
+            if (this.hoveredTask != null) {
+                this.hoveredTask = null;
+                this.plugin.requestHighlightRedraw();
+            }
+            // Only the prompt needs drawing; the board underneath is left as it is.
+            this.plugin.requestModalRedraw();
         }
     }
 
@@ -212,119 +467,382 @@ public class SinglePlayerBingoGame implements IDisplayableMinigame {
             bingoImage = BINGO_IMAGE;
         }
         else {
-            bingoImage = plugin.getSpriteManager().getSprite(SpriteID.MAP_ICON_MINIGAME, 0);
-            assert bingoImage != null;
+            bingoImage = plugin.getSprite(SpriteID.MAP_ICON_MINIGAME);
+            if (bingoImage == null) {
+                return null;
+            }
+        }
+        boolean completed = this.isCompleted();
+        int atlasGeneration = plugin.getSpriteAtlas().getGeneration();
+        if (
+                this.cachedIcon != null &&
+                this.cachedIconSource == bingoImage &&
+                this.cachedIconCompleted == completed &&
+                this.cachedIconAtlasGeneration == atlasGeneration
+        ) {
+            return this.cachedIcon;
         }
-        BufferedImage result = new BufferedImage(bingoImage.getWidth(), bingoImage.getHeight(), BufferedImage.TYPE_INT_ARGB);
-        result.getGraphics().drawImage(bingoImage, 0, 0, null);
-        if (this.isCompleted()) {
-            BufferedImage taskCompleteImage = CommonImages.getTaskCompleteImage();
-            taskCompleteImage = ImageUtils.scale(taskCompleteImage, result.getWidth() * 2 / 3, result.getHeight() * 2 / 3);
-            result.getGraphics().drawImage(taskCompleteImage, result.getWidth() / 3, result.getHeight() / 3, null);
+
+        BufferedImage result = ImageAllocator.createCompatibleImage(bingoImage.getWidth(), bingoImage.getHeight());
+        try (DrawingScope scope = DrawingScope.on(result)) {
+            scope.getGraphics().drawImage(bingoImage, 0, 0, null);
+            if (completed) {
+                plugin.getSpriteAtlas().draw(
+                        scope.getGraphics(),
+                        SpriteAtlas.Entry.TASK_COMPLETE,
+                        result.getWidth() / 3,
+                        result.getHeight() / 3,
+                        result.getWidth() * 2 / 3,
+                        result.getHeight() * 2 / 3
+                );
+            }
         }
+        this.cachedIcon = result;
+        this.cachedIconSource = bingoImage;
+        this.cachedIconCompleted = completed;
+        this.cachedIconAtlasGeneration = atlasGeneration;
         return result;
     }
 
+    /**
+     * Draws the part of the board shown by the current viewport. Only tiles that overlap the view are drawn, so the
+     * cost of a redraw depends on how many tiles are visible rather than on the size of the board.
+     */
     private BufferedImage getBoardImage(IMinigamePlugin plugin, Dimension requestedDimension) {
         if (requestedDimension == null) {
-            requestedDimension = new Dimension(RECOMMENDED_IMAGE_MINIMUM_SIZE * NUM_TILES, RECOMMENDED_IMAGE_MINIMUM_SIZE * NUM_TILES);
+            requestedDimension = new Dimension(RECOMMENDED_IMAGE_MINIMUM_SIZE * this.boardSize, RECOMMENDED_IMAGE_MINIMUM_SIZE * this.boardSize);
         }
-        Dimension tileDimension = new Dimension(
-                requestedDimension.width / this.tasks[0].length,
-                requestedDimension.height / this.tasks.length
-        );
-
-        if (BANK_TAB_EMPTY == null) {
-            this.BANK_TAB_EMPTY = spriteManager.getSprite(SpriteID.BANK_TAB_EMPTY, 0);
+        BoardViewport viewport = this.clampViewport(this.viewport, requestedDimension);
+        Dimension tileDimension = this.getTileDimension(requestedDimension, viewport.zoom);
+
+        SpriteAtlas spriteAtlas = plugin.getSpriteAtlas();
+        int atlasGeneration = spriteAtlas.getGeneration();
+
+        boolean redrawAll = false;
+        if (atlasGeneration != this.spriteAtlasGeneration) {
+            // The task images include sprites, so every level has to be drawn again.
+            this.tileImages.clear();
+            this.spriteAtlasGeneration = atlasGeneration;
+            redrawAll = true;
+        }
+        if (
+                this.boardBuffer == null ||
+                this.boardBuffer.getWidth() != requestedDimension.width ||
+                this.boardBuffer.getHeight() != requestedDimension.height
+        ) {
+            this.boardBuffer = ImageAllocator.createCompatibleImage(requestedDimension.width, requestedDimension.height);
+            redrawAll = true;
+        }
+        if (!viewport.equals(this.drawnViewport)) {
+            // Zooming or panning moves every tile, but the task images at each size are kept.
+            this.drawnViewport = viewport;
+            redrawAll = true;
         }
 
-        BufferedImage[][] images = new BufferedImage[tasks.length][tasks[0].length];
-        BufferedImage[][] backgrounds = new BufferedImage[tasks.length][tasks[0].length];
-        for (int row = 0; row < images.length; row++) {
-            for (int col = 0; col < images[row].length; col++) {
-                images[row][col] = tasks[row][col].getImage(plugin, tileDimension);
-                backgrounds[row][col] = ImageUtils.scale(BANK_TAB_EMPTY, tileDimension.width, tileDimension.height);
+        // Take the dirty tiles, so only they are visited: large boards usually have very few of them.
+        BitSet tilesToDraw;
+        BitSet changedImages;
+        synchronized (this.dirtyTiles) {
+            if (this.dirtyTiles.isEmpty() && this.tilesAwaitingSprites.isEmpty() && !redrawAll) {
+                return this.boardBuffer;
+            }
+            tilesToDraw = (BitSet) this.dirtyTiles.clone();
+            this.dirtyTiles.clear();
+            changedImages = (BitSet) this.changedTaskImages.clone();
+            this.changedTaskImages.clear();
+        }
+        // Tiles that were only selected or deselected keep their task images.
+        for (int tile = changedImages.nextSetBit(0); tile >= 0; tile = changedImages.nextSetBit(tile + 1)) {
+            this.tileImages.remove(this.tasks[tile / this.boardSize][tile % this.boardSize]);
+        }
+        // Their task images are still valid, so only their backgrounds need drawing again.
+        tilesToDraw.or(this.tilesAwaitingSprites);
+        this.tilesAwaitingSprites.clear();
+
+        Point selected = this.selectedTask;
+
+        // The range of tiles overlapping the view. Dirty tiles outside it are drawn once they're scrolled into view.
+        int firstCol = viewport.x / tileDimension.width;
+        int lastCol = Math.min(this.boardSize - 1, (viewport.x + requestedDimension.width - 1) / tileDimension.width);
+        int firstRow = viewport.y / tileDimension.height;
+        int lastRow = Math.min(this.boardSize - 1, (viewport.y + requestedDimension.height - 1) / tileDimension.height);
+
+        try (DrawingScope scope = DrawingScope.on(this.boardBuffer)) {
+            Graphics2D graphics = scope.getGraphics();
+            if (redrawAll) {
+                scope.clear();
+            }
+            for (int row = firstRow; row <= lastRow; row++) {
+                for (int col = firstCol; col <= lastCol; col++) {
+                    if (!redrawAll && !tilesToDraw.get(row * this.boardSize + col)) {
+                        continue;
+                    }
+                    int tileX = col * tileDimension.width - viewport.x;
+                    int tileY = row * tileDimension.height - viewport.y;
+
+                    // Clear out the previous tile, since the bank tab backgrounds are partially transparent.
+                    graphics.setComposite(AlphaComposite.Clear);
+                    graphics.fillRect(tileX, tileY, tileDimension.width, tileDimension.height);
+                    graphics.setComposite(AlphaComposite.SrcOver);
+
+                    if (!spriteAtlas.draw(graphics, this.getTileBackground(col, row, selected), tileX, tileY, tileDimension.width, tileDimension.height)) {
+                        // The tile is kept, so it would otherwise stay without a background.
+                        this.tilesAwaitingSprites.set(row * this.boardSize + col);
+                    }
+                    this.getTileImages(plugin, this.tasks[row][col]).draw(graphics, tileX, tileY, tileDimension.width);
+                }
             }
         }
 
-        if (BANK_TAB_HOVERED == null) {
-            this.BANK_TAB_HOVERED = spriteManager.getSprite(SpriteID.BANK_TAB_HOVERED, 0);
+        return this.boardBuffer;
+    }
+
+    /**
+     * @return The images of a task at each size it has been drawn at. Must only be called while drawing the board.
+     */
+    private MipChain getTileImages(IMinigamePlugin plugin, IRunescapeTask task) {
+        return this.tileImages.computeIfAbsent(
+                task,
+                t -> new MipChain(size -> t.getImage(plugin, new Dimension(size, size)), MAXIMUM_TILE_IMAGE_SIZE)
+        );
+    }
+
+    @Override
+    public Highlight getHighlight(IMinigamePlugin plugin) {
+        Point hovered = this.hoveredTask;
+        Rectangle board = this.boardRectangle;
+        // Matches the board as it was last drawn, rather than a zoom or pan that hasn't been drawn yet.
+        BoardViewport viewport = this.drawnViewport;
+        // The selected background takes priority over the hovered one.
+        if (hovered == null || board == null || viewport == null || hovered.equals(this.selectedTask)) {
+            return null;
         }
-        else if (hoveredTask != null) {
-            backgrounds[hoveredTask.y][hoveredTask.x] = ImageUtils.scale(BANK_TAB_HOVERED, tileDimension.width, tileDimension.height);
+        Dimension tileDimension = this.getTileDimension(board.getSize(), viewport.zoom);
+        Rectangle tileBounds = new Rectangle(
+                hovered.x * tileDimension.width - viewport.x,
+                hovered.y * tileDimension.height - viewport.y,
+                tileDimension.width,
+                tileDimension.height
+        );
+        // Tiles at the edge of the view are only partly visible.
+        Rectangle visibleBounds = tileBounds.intersection(new Rectangle(0, 0, board.width, board.height));
+        if (visibleBounds.isEmpty()) {
+            return null;
         }
-        if (BANK_TAB_SELECTED == null) {
-            this.BANK_TAB_SELECTED = spriteManager.getSprite(SpriteID.BANK_TAB_SELECTED, 0);
+        // The highlight is only read while the frame's patches are composited, so one surface serves every hover.
+        BufferedImage tile = this.highlightSurface;
+        if (tile == null || tile.getWidth() != visibleBounds.width || tile.getHeight() != visibleBounds.height) {
+            tile = ImageAllocator.createCompatibleImage(visibleBounds.width, visibleBounds.height);
+            this.highlightSurface = tile;
         }
-        else if (selectedTask != null) {
-            backgrounds[selectedTask.y][selectedTask.x] = ImageUtils.scale(BANK_TAB_SELECTED, tileDimension.width, tileDimension.height);
+        try (DrawingScope scope = DrawingScope.on(tile)) {
+            scope.clear();
+            Graphics2D graphics = scope.getGraphics();
+            int tileX = tileBounds.x - visibleBounds.x;
+            int tileY = tileBounds.y - visibleBounds.y;
+            plugin.getSpriteAtlas().draw(graphics, SpriteAtlas.Entry.BANK_TAB_HOVERED, tileX, tileY, tileDimension.width, tileDimension.height);
+            this.getTileImages(plugin, this.tasks[hovered.y][hovered.x]).draw(graphics, tileX, tileY, tileDimension.width);
         }
+        visibleBounds.translate(board.x, board.y);
+        return new Highlight(visibleBounds, tile);
+    }
 
-        BufferedImage outputImage = new BufferedImage(requestedDimension.width, requestedDimension.height, BufferedImage.TYPE_INT_ARGB);
-        // Run left to right, top to bottom.
-        int currentPosZero = 0;
-        for (int row = 0; row < images.length; row++) {
-            int currentPosOne = 0;
-            for (int col = 0; col < images[row].length; col++) {
-                BufferedImage image = images[row][col];
-                BufferedImage background = backgrounds[row][col];
-                outputImage.getGraphics().drawImage(
-                        ImageUtils.scale(background, tileDimension.width, tileDimension.height),
-                        currentPosOne,
-                        currentPosZero,
-                        null
-                );
-                outputImage.getGraphics().drawImage(
-                        ImageUtils.scale(image, tileDimension.width, tileDimension.height),
-                        currentPosOne,
-                        currentPosZero,
-                        null
-                );
-                currentPosOne += tileDimension.width;
-            }
-            currentPosZero += tileDimension.height;
+    /**
+     * @param boardDimension The size of the board image.
+     * @param zoom How far the board is zoomed in.
+     * @return The size of a single tile. Tiles are drawn from the top-left corner, so when the board isn't zoomed in
+     *      any leftover pixels along the right and bottom edges are left empty.
+     */
+    private Dimension getTileDimension(Dimension boardDimension, double zoom) {
+        return new Dimension(
+                Math.max(1, (int) Math.round(boardDimension.width / this.boardSize * zoom)),
+                Math.max(1, (int) Math.round(boardDimension.height / this.boardSize * zoom))
+        );
+    }
+
+    /**
+     * @return How far the board can be zoomed in: until {@link #MINIMUM_VISIBLE_TILES} tiles fill the view.
+     */
+    private double getMaximumZoom() {
+        return Math.max(1.0, (double) this.boardSize / MINIMUM_VISIBLE_TILES);
+    }
+
+    /**
+     * Limits a viewport to the zoom range, and to positions where the view stays within the board.
+     * @param viewport The viewport to limit.
+     * @param boardDimension The size of the board image.
+     * @return The closest viewport that shows only the board.
+     */
+    private BoardViewport clampViewport(BoardViewport viewport, Dimension boardDimension) {
+        double zoom = Math.max(1.0, Math.min(this.getMaximumZoom(), viewport.zoom));
+        Dimension tileDimension = this.getTileDimension(boardDimension, zoom);
+        int maxX = Math.max(0, tileDimension.width * this.boardSize - boardDimension.width);
+        int maxY = Math.max(0, tileDimension.height * this.boardSize - boardDimension.height);
+        int x = Math.max(0, Math.min(maxX, viewport.x));
+        int y = Math.max(0, Math.min(maxY, viewport.y));
+        if (zoom == viewport.zoom && x == viewport.x && y == viewport.y) {
+            return viewport;
         }
+        return new BoardViewport(zoom, x, y);
+    }
 
-        return ImageUtils.scale(outputImage, requestedDimension.width, requestedDimension.height);
+    private SpriteAtlas.Entry getTileBackground(int col, int row, Point selected) {
+        if (selected != null && selected.x == col && selected.y == row) {
+            return SpriteAtlas.Entry.BANK_TAB_SELECTED;
+        }
+        return SpriteAtlas.Entry.BANK_TAB_EMPTY;
     }
 
     private String getDescriptionText() {
-        if (this.selectedTask == null) {
+        Point selected = this.selectedTask;
+        if (selected == null) {
             String text = "Bingo minigame: Complete tasks in " +
                    "any order that you like. You win when " +
-                   "you complete five tasks that form a row, a column, or a diagonal line. " +
-                   "Note that four corners are not supported at this time.";
-            if (isCompleted()) {
+                   "you complete " + this.getWinConditionText() + ".";
+            if (this.isCompleted()) {
                 text += "\n\nThis game has been completed!";
+            } else {
+                text += "\n\n" + this.getProgressText(this.getProgress());
             }
             return text;
         }
-        String text = this.tasks[selectedTask.y][selectedTask.x].getDescriptionText();
-        if (this.tasks[selectedTask.y][selectedTask.x].isCompleted()) {
+        String text = this.tasks[selected.y][selected.x].getDescriptionText();
+        if (this.completedTiles.isCompleted(selected.y, selected.x)) {
             text += "\n\nThis task has been completed!";
         }
         return text;
     }
 
-    private BufferedImage getDescriptionImage(Dimension requestedDimension) {
+    /**
+     * @return A summary of the closest patterns to a win, and up to three of the tasks that appear on the most of them.
+     */
+    private String getProgressText(BingoProgress progress) {
+        int remaining = progress.getTasksRemaining();
+        StringBuilder text = new StringBuilder("Closest to a win: ")
+                .append(remaining)
+                .append(remaining == 1 ? " task" : " tasks")
+                .append(" left");
+        if (progress.getClosestPatternCount() > 1) {
+            text.append(", on ").append(progress.getClosestPatternCount()).append(" patterns");
+        }
+        text.append('.');
+        List<Point> keyTiles = progress.getKeyTiles();
+        if (!keyTiles.isEmpty() && progress.getKeyTilePatternCount() > 1) {
+            text.append(" Tasks on ").append(progress.getKeyTilePatternCount()).append(" of them: ");
+            List<String> positions = new ArrayList<>();
+            for (Point tile : keyTiles.subList(0, Math.min(3, keyTiles.size()))) {
+                positions.add("row " + (tile.y + 1) + " column " + (tile.x + 1));
+            }
+            text.append(String.join(", ", positions));
+            if (keyTiles.size() > 3) {
+                text.append(" and ").append(keyTiles.size() - 3).append(" more");
+            }
+            text.append('.');
+        }
+        return text.toString();
+    }
 
-        int framePadding = 5;
+    /**
+     * @return The enabled win patterns as a list of alternatives, such as "a row, a column or the four corners".
+     */
+    private String getWinConditionText() {
+        List<String> conditions = new ArrayList<>();
+        for (WinPattern pattern : this.winPatterns) {
+            conditions.add(pattern.getDescription());
+        }
+        if (this.customWinMasks.size() == 1) {
+            conditions.add("a custom pattern");
+        } else if (this.customWinMasks.size() > 1) {
+            conditions.add("one of " + this.customWinMasks.size() + " custom patterns");
+        }
+        if (conditions.size() == 1) {
+            return conditions.get(0);
+        }
+        return String.join(", ", conditions.subList(0, conditions.size() - 1)) + " or " + conditions.get(conditions.size() - 1);
+    }
 
-        BufferedImage outputImage = new BufferedImage(requestedDimension.width, requestedDimension.height, BufferedImage.TYPE_INT_ARGB);
-        outputImage.getGraphics().setFont(FontManager.getRunescapeFont());
+    /**
+     * Draws the description pane. Only the lines that fit in the pane are drawn, starting at the scrolled-to line,
+     * so the cost of a redraw doesn't depend on the length of the text.
+     * @param requestedDimension The size of the image, in physical pixels.
+     * @param scale The number of physical pixels per unit of the pane's layout. The text is drawn through a scaled
+     *              transform, so it is rasterized at the physical resolution rather than stretched afterwards.
+     */
+    private BufferedImage getDescriptionImage(Dimension requestedDimension, double scale) {
 
-        this.backgroundComponent.setRectangle(new Rectangle(0, 0, requestedDimension.width, requestedDimension.height));
-        this.backgroundComponent.render(outputImage.createGraphics());
         String descriptionText = this.getDescriptionText();
-        // TODO: Cache this when the text doesn't change.
-        BufferedImage descriptionImage = ImageUtils.getTextImageScrollVertical(descriptionText, outputImage.getGraphics(), Math.max(0, outputImage.getWidth() - 2 * framePadding));
-        outputImage.getGraphics().drawImage(descriptionImage, framePadding, framePadding, null);
+        int scrollLine = this.descriptionScrollLine;
+        if (
+                this.cachedDescriptionImage != null &&
+                descriptionText.equals(this.cachedDescriptionText) &&
+                scrollLine == this.cachedDescriptionScrollLine &&
+                scale == this.cachedDescriptionScale &&
+                this.cachedDescriptionImage.getWidth() == requestedDimension.width &&
+                this.cachedDescriptionImage.getHeight() == requestedDimension.height
+        ) {
+            // Nothing changed since the last redraw.
+            return this.cachedDescriptionImage;
+        }
+
+        // Only the text or scroll position changed: redraw into the previous image rather than allocating a new one.
+        BufferedImage outputImage = this.cachedDescriptionImage;
+        if (
+                outputImage == null ||
+                outputImage.getWidth() != requestedDimension.width ||
+                outputImage.getHeight() != requestedDimension.height
+        ) {
+            outputImage = ImageAllocator.createCompatibleImage(requestedDimension.width, requestedDimension.height);
+        }
+        // The pane is laid out in unscaled units, the same as at a scale of 1.
+        int paneWidth = (int) (requestedDimension.width / scale);
+        int paneOuterHeight = (int) (requestedDimension.height / scale);
+        try (DrawingScope scope = DrawingScope.on(outputImage)) {
+            scope.clear();
+            Graphics2D graphics = scope.getGraphics();
+            graphics.scale(scale, scale);
+            // The text is measured and drawn in the graphics' default font.
+
+            this.backgroundComponent.setRectangle(new Rectangle(
+                    0,
+                    0,
+                    (int) Math.ceil(requestedDimension.width / scale),
+                    (int) Math.ceil(requestedDimension.height / scale)
+            ));
+            this.backgroundComponent.render(graphics);
+
+            // The layout is cached, so scrolling doesn't wrap the text again.
+            WrappedText text = ImageUtils.getWrappedText(
+                    descriptionText,
+                    graphics,
+                    Math.max(0, paneWidth - 2 * DESCRIPTION_PADDING)
+            );
+            int paneHeight = paneOuterHeight - 2 * DESCRIPTION_PADDING;
+            int visibleLines = text.getVisibleLineCount(paneHeight);
+            int totalLines = text.getLines().size();
+            int maxScrollLine = Math.max(0, totalLines - visibleLines);
+            this.descriptionMaxScrollLine = maxScrollLine;
+            int firstLine = Math.min(scrollLine, maxScrollLine);
+
+            graphics.setColor(Color.WHITE);
+            text.drawLines(graphics, firstLine, visibleLines, DESCRIPTION_PADDING, DESCRIPTION_PADDING);
+            if (maxScrollLine > 0) {
+                // A thin bar in the right-hand padding shows which part of the text is visible.
+                int thumbHeight = Math.max(DESCRIPTION_PADDING * 2, paneHeight * visibleLines / totalLines);
+                int thumbY = DESCRIPTION_PADDING + (paneHeight - thumbHeight) * firstLine / maxScrollLine;
+                graphics.setColor(SCROLL_BAR_COLOR);
+                graphics.fillRect(paneWidth - DESCRIPTION_PADDING + 1, thumbY, 2, thumbHeight);
+            }
+        }
 
-        return ImageUtils.scale(outputImage, requestedDimension.width, requestedDimension.height);
+        this.cachedDescriptionImage = outputImage;
+        this.cachedDescriptionText = descriptionText;
+        this.cachedDescriptionScrollLine = scrollLine;
+        this.cachedDescriptionScale = scale;
+        return outputImage;
     }
 
     @Override
-    public BufferedImage getMainImage(IMinigamePlugin plugin, Dimension requestedDimension) {
+    public BufferedImage getMainImage(IMinigamePlugin plugin, Dimension requestedDimension, double scale) {
         // We will always draw the image on the right side of the plugin (for now), scaling the board image
         // to the remaining size.
         Dimension descriptionDimension;
@@ -340,88 +858,187 @@ public class SinglePlayerBingoGame implements IDisplayableMinigame {
         // We want a square board, so it'll be centered with whitespace on the top and bottom.
         // The size will be the minimum of the allowed width/height.
         int minimumDimension = Math.min(boardDimension.height, boardDimension.width);
-        boardDimension = new Dimension(minimumDimension, minimumDimension);
 
+        // Everything is drawn at the display's physical resolution, so nothing has to be upscaled afterwards. The
+        // description takes up whatever the board leaves of the scaled width, so rounding never leaves a gap.
+        int outputWidth = scaled(descriptionDimension.width + minimumDimension, scale);
+        int outputHeight = scaled(requestedDimension.height, scale);
+        int boardSide = Math.min(outputWidth, scaled(minimumDimension, scale));
+        boardDimension = new Dimension(boardSide, boardSide);
+        if (descriptionDimension.width > 0) {
+            descriptionDimension = new Dimension(outputWidth - boardSide, outputHeight);
+        }
+        this.setRenderScale(scale);
+
+        RenderStats stats = plugin.getRenderStats();
+        long boardStart = stats.start();
         BufferedImage boardImage = this.getBoardImage(plugin, boardDimension);
+        stats.record(RenderStats.Stage.BOARD_IMAGE, boardStart);
         BufferedImage descriptionImage = null;
         if (descriptionDimension.width > 0 && descriptionDimension.height > 0) {
-            descriptionImage = this.getDescriptionImage(descriptionDimension);
+            long descriptionStart = stats.start();
+            descriptionImage = this.getDescriptionImage(descriptionDimension, scale);
+            stats.record(RenderStats.Stage.DESCRIPTION_IMAGE, descriptionStart);
         }
 
-        BufferedImage output = new BufferedImage(descriptionDimension.width + boardDimension.width, requestedDimension.height, BufferedImage.TYPE_INT_ARGB);
+        if (
+                this.mainImage == null ||
+                this.mainImage.getWidth() != outputWidth ||
+                this.mainImage.getHeight() != outputHeight
+        ) {
+            // Redrawn in place on every call, so it is drawn into the frame as it is and never scaled through the
+            // scaled image cache.
+            this.mainImage = ImageAllocator.createCompatibleImage(outputWidth, outputHeight);
+        }
+        BufferedImage output = this.mainImage;
         // Board image is centered on the left.
-        int boardPosY = (requestedDimension.height - boardImage.getHeight()) / 2;
+        int boardPosY = (outputHeight - boardImage.getHeight()) / 2;
         int descriptionPosX = boardImage.getWidth();
 
-        this.boardRectangle = new Rectangle(0, boardPosY, boardImage.getWidth(), boardImage.getHeight());
-        if (descriptionImage == null) {
-            this.descriptionRectangle = null;
-        } else {
-            this.descriptionRectangle = new Rectangle(descriptionPosX, 0, descriptionImage.getWidth(), descriptionImage.getHeight());
-        }
-
-        output.getGraphics().drawImage(boardImage, boardRectangle.x, boardRectangle.y, null);
+        Rectangle board = new Rectangle(0, boardPosY, boardImage.getWidth(), boardImage.getHeight());
+        Rectangle description = null;
         if (descriptionImage != null) {
-            output.getGraphics().drawImage(descriptionImage, descriptionRectangle.x, descriptionRectangle.y, null);
+            description = new Rectangle(descriptionPosX, 0, descriptionImage.getWidth(), descriptionImage.getHeight());
         }
-
-        if (this.promptingDelete) {
-            output.getGraphics().drawImage(
-                    this.confirmDeleteImage(output.getWidth(), output.getHeight()),
-                    0,
-                    0,
-                    null
-            );
+        this.boardRectangle = board;
+        this.descriptionRectangle = description;
+
+        try (DrawingScope scope = DrawingScope.on(output)) {
+            scope.clear();
+            scope.getGraphics().drawImage(boardImage, board.x, board.y, null);
+            if (description != null) {
+                scope.getGraphics().drawImage(descriptionImage, description.x, description.y, null);
+            }
         }
 
         return output;
     }
 
-    private BufferedImage confirmDeleteImage(int width, int height) {
-
-        int PADDING = 5;
-
-        BufferedImage outputImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
-        outputImage.getGraphics().setFont(FontManager.getRunescapeFont());
-
-        this.backgroundComponent.setFill(true);
-        this.backgroundComponent.setRectangle(new Rectangle(0, 0, width, height));
-        this.backgroundComponent.render(outputImage.createGraphics());
-
-        String warningText = "Are you sure you'd like to delete this game?\n" +
-                "Press Delete to confirm or click here to cancel.";
-
-        int warningWidth = Math.min(width, MAX_WARNING_WIDTH - 2 * PADDING);
-        BufferedImage warningImage = ImageUtils.getTextImageScrollVertical(warningText, outputImage.getGraphics(), warningWidth);
+    /**
+     * Records the scale the main image is drawn at. The viewport is kept in board pixels, so it is scaled with the
+     * board to keep the same part of the board in view.
+     */
+    private void setRenderScale(double scale) {
+        double previousScale = this.renderScale;
+        if (scale == previousScale) {
+            return;
+        }
+        BoardViewport viewport = this.viewport;
+        this.viewport = new BoardViewport(
+                viewport.zoom,
+                (int) Math.round(viewport.x * scale / previousScale),
+                (int) Math.round(viewport.y * scale / previousScale)
+        );
+        this.renderScale = scale;
+    }
 
-        BufferedImage warningOutput = new BufferedImage(warningWidth, warningImage.getHeight() + 2 * PADDING, BufferedImage.TYPE_INT_RGB);
+    /**
+     * @param relativeOffset A position relative to the game, in the units of the requested dimension.
+     * @return The same position in the pixels of the main image, or null if the position is null.
+     */
+    private Point toImagePoint(Point relativeOffset) {
+        if (relativeOffset == null) {
+            return null;
+        }
+        double scale = this.renderScale;
+        return new Point((int) Math.floor(relativeOffset.x * scale), (int) Math.floor(relativeOffset.y * scale));
+    }
 
-        int heightOffset = (height - warningOutput.getHeight()) / 2;
-        heightOffset = Math.max(0, heightOffset);
+    private static int scaled(int value, double scale) {
+        return (int) Math.round(value * scale);
+    }
 
-        int widthOffset = (width - warningOutput.getWidth()) / 2;
+    @Override
+    public BufferedImage getModalImage(IMinigamePlugin plugin, Dimension requestedDimension, double scale) {
+        if (!this.promptingDelete) {
+            return null;
+        }
+        int width = scaled(requestedDimension.width, scale);
+        int height = scaled(requestedDimension.height, scale);
+        if (
+                this.cachedModalImage == null ||
+                this.cachedModalImage.getWidth() != width ||
+                this.cachedModalImage.getHeight() != height
+        ) {
+            this.cachedModalImage = this.confirmDeleteImage(width, height, scale);
+        }
+        return this.cachedModalImage;
+    }
 
-        this.backgroundComponent.setFill(true);
-        this.backgroundComponent.setRectangle(new Rectangle(0, 0, warningOutput.getWidth(), warningOutput.getHeight()));
-        this.backgroundComponent.render(warningOutput.createGraphics());
-        warningOutput.getGraphics().drawImage(warningImage, PADDING, PADDING, null);
+    /**
+     * Draws the delete confirmation over the whole game. The prompt is laid out as at a scale of 1 and drawn through
+     * a scaled transform, so its text is rasterized at the physical resolution.
+     * @param imageWidth The width of the image, in physical pixels.
+     * @param imageHeight The height of the image, in physical pixels.
+     * @param scale The number of physical pixels per unit of the layout.
+     */
+    private BufferedImage confirmDeleteImage(int imageWidth, int imageHeight, double scale) {
 
-        outputImage.getGraphics().drawImage(warningOutput, widthOffset, heightOffset, null);
+        int PADDING = 5;
+        int width = (int) (imageWidth / scale);
+        int height = (int) (imageHeight / scale);
+
+        BufferedImage outputImage = ImageAllocator.createCompatibleImage(imageWidth, imageHeight);
+        try (DrawingScope output = DrawingScope.on(outputImage)) {
+            Graphics2D graphics = output.getGraphics();
+            graphics.scale(scale, scale);
+            // The text is measured and drawn in the graphics' default font.
+
+            this.backgroundComponent.setFill(true);
+            this.backgroundComponent.setRectangle(new Rectangle(0, 0, width, height));
+            this.backgroundComponent.render(graphics);
+
+            String warningText = "Are you sure you'd like to delete this game?\n" +
+                    "Press Delete to confirm or click here to cancel.";
+
+            int warningWidth = Math.min(width, MAX_WARNING_WIDTH - 2 * PADDING);
+            WrappedText text = ImageUtils.getWrappedText(warningText, graphics, warningWidth);
+            // The same height as the text rasterized on its own, which leaves a line height under the last line.
+            int textHeight = text.getLines().isEmpty() ? 0 : text.getLineHeight() * (1 + text.getLines().size());
+            Rectangle warningBox = new Rectangle(0, 0, warningWidth, textHeight + 2 * PADDING);
+            warningBox.x = (width - warningBox.width) / 2;
+            warningBox.y = Math.max(0, (height - warningBox.height) / 2);
+
+            // The box is opaque, and the text is clipped to it.
+            Shape clip = graphics.getClip();
+            graphics.clip(warningBox);
+            graphics.setColor(Color.BLACK);
+            graphics.fill(warningBox);
+            this.backgroundComponent.setFill(true);
+            this.backgroundComponent.setRectangle(warningBox);
+            this.backgroundComponent.render(graphics);
+            graphics.setColor(Color.WHITE);
+            text.drawLines(graphics, 0, text.getLines().size(), warningBox.x + PADDING, warningBox.y + PADDING);
+            graphics.setClip(clip);
+        }
 
-        return ImageUtils.scale(outputImage, width, height);
+        return outputImage;
     }
 
-    private Point boardContains(Point relativeOffset) {
-        if (boardRectangle == null || relativeOffset == null) {
+    /**
+     * @param imagePoint A position in the pixels of the main image.
+     * @return The (column, row) of the tile at that position, or null if there is no tile there.
+     */
+    private Point boardContains(Point imagePoint) {
+        Rectangle board = this.boardRectangle;
+        if (board == null || imagePoint == null) {
             return null;
         }
         if (
-                relativeOffset.x >= boardRectangle.x && relativeOffset.x < boardRectangle.width + boardRectangle.x &&
-                relativeOffset.y >= boardRectangle.y && relativeOffset.y < boardRectangle.height + boardRectangle.y
+                imagePoint.x >= board.x && imagePoint.x < board.width + board.x &&
+                imagePoint.y >= board.y && imagePoint.y < board.height + board.y
         ) {
-            int x_offset = relativeOffset.x - boardRectangle.x;
-            int y_offset = relativeOffset.y - boardRectangle.y;
-            return new Point((tasks[0].length * x_offset) / boardRectangle.width, (tasks.length * y_offset) / boardRectangle.height);
+            int x_offset = imagePoint.x - board.x;
+            int y_offset = imagePoint.y - board.y;
+            // Must match the layout used when drawing, including the empty leftover pixels on the right and bottom.
+            BoardViewport viewport = this.clampViewport(this.viewport, board.getSize());
+            Dimension tileDimension = this.getTileDimension(board.getSize(), viewport.zoom);
+            int col = (x_offset + viewport.x) / tileDimension.width;
+            int row = (y_offset + viewport.y) / tileDimension.height;
+            if (col >= this.boardSize || row >= this.boardSize) {
+                return null;
+            }
+            return new Point(col, row);
         }
         else {
             return null;
@@ -449,6 +1066,29 @@ public class SinglePlayerBingoGame implements IDisplayableMinigame {
 
     @Override
     public MouseWheelEvent mouseWheelMoved(MouseWheelEvent event, Point relativeOffset) {
+        if (this.promptingDelete || relativeOffset == null) {
+            return event;
+        }
+        Point imagePoint = this.toImagePoint(relativeOffset);
+        Rectangle board = this.boardRectangle;
+        if (board != null && board.contains(imagePoint)) {
+            this.zoomBoard(board, event.getWheelRotation(), imagePoint);
+            event.consume();
+            return event;
+        }
+        Rectangle description = this.descriptionRectangle;
+        if (description == null || !description.contains(imagePoint)) {
+            return event;
+        }
+        int maxScrollLine = this.descriptionMaxScrollLine;
+        int currentLine = Math.min(this.descriptionScrollLine, maxScrollLine);
+        int nextLine = Math.max(0, Math.min(maxScrollLine, currentLine + event.getWheelRotation() * SCROLL_LINES_PER_NOTCH));
+        if (nextLine != currentLine) {
+            this.descriptionScrollLine = nextLine;
+            // Only the description pane is redrawn; the board is reused as it is.
+            this.plugin.requestRedraw();
+        }
+        event.consume();
         return event;
     }
 
@@ -456,47 +1096,128 @@ public class SinglePlayerBingoGame implements IDisplayableMinigame {
     public MouseEvent mouseClicked(MouseEvent event, Point relativeOffset) {
         if (this.promptingDelete) {
             this.promptingDelete = false;
-            this.plugin.requestRedraw();
+            this.plugin.requestModalRedraw();
             event.consume();
             return event;
         }
-        Point boardLocation = boardContains(relativeOffset);
+        Point boardLocation = boardContains(this.toImagePoint(relativeOffset));
         if (boardLocation != null) {
             // If we click on a task tile, set it to the active tile.
             // If the task's details are already showing, de-highlight the tab and show the game's details instead.
-            if (selectedTask != null && boardLocation.x == selectedTask.x && boardLocation.y == selectedTask.y) {
+            Point previous = this.selectedTask;
+            if (previous != null && boardLocation.x == previous.x && boardLocation.y == previous.y) {
                 // De-select.
-                selectedTask = null;
+                this.selectedTask = null;
             } else {
-                selectedTask = boardLocation;
+                this.selectedTask = boardLocation;
             }
+            // The description now shows different text, which starts from the top.
+            this.descriptionScrollLine = 0;
+            // Marked only after the selection changes, so a build that takes these tiles draws the new selection.
+            this.markTileDirty(previous);
+            this.markTileDirty(this.selectedTask);
             this.plugin.requestRedraw();
             event.consume();
         }
         return event;
     }
 
+    /**
+     * Zooms the board in or out, keeping the point under the mouse in place.
+     * @param board Where the board was last drawn.
+     * @param notches The number of mouse wheel notches; negative to zoom in.
+     * @param imagePoint The position of the mouse in the main image, which must be over the board.
+     */
+    private void zoomBoard(Rectangle board, int notches, Point imagePoint) {
+        Dimension boardDimension = board.getSize();
+        BoardViewport current = this.clampViewport(this.viewport, boardDimension);
+        double zoom = Math.max(1.0, Math.min(this.getMaximumZoom(), current.zoom * Math.pow(ZOOM_PER_NOTCH, -notches)));
+        if (zoom == current.zoom) {
+            return;
+        }
+        int mouseX = imagePoint.x - board.x;
+        int mouseY = imagePoint.y - board.y;
+        Dimension currentTile = this.getTileDimension(boardDimension, current.zoom);
+        Dimension zoomedTile = this.getTileDimension(boardDimension, zoom);
+        this.setViewport(new BoardViewport(
+                zoom,
+                (int) Math.round((double) (current.x + mouseX) * zoomedTile.width / currentTile.width) - mouseX,
+                (int) Math.round((double) (current.y + mouseY) * zoomedTile.height / currentTile.height) - mouseY
+        ), board, imagePoint);
+    }
+
+    /**
+     * Moves the view to a new viewport, updating the hovered tile to whichever tile is now under the mouse.
+     */
+    private void setViewport(BoardViewport viewport, Rectangle board, Point imagePoint) {
+        viewport = this.clampViewport(viewport, board.getSize());
+        if (viewport.equals(this.viewport)) {
+            return;
+        }
+        this.viewport = viewport;
+        this.plugin.requestRedraw();
+        Point hovered = this.boardContains(imagePoint);
+        if (!Objects.equals(this.hoveredTask, hovered)) {
+            this.hoveredTask = hovered;
+            this.plugin.requestHighlightRedraw();
+        }
+    }
+
     @Override
     public MouseEvent mousePressed(MouseEvent event, Point relativeOffset) {
+        // Pressing on the board starts a drag, which pans the board while it is zoomed in.
+        Point imagePoint = this.toImagePoint(relativeOffset);
+        if (!this.promptingDelete && SwingUtilities.isLeftMouseButton(event) && this.boardContains(imagePoint) != null) {
+            this.dragPoint = imagePoint;
+        } else {
+            this.dragPoint = null;
+        }
         return event;
     }
 
     @Override
     public MouseEvent mouseMoved(MouseEvent event, Point relativeOffset) {
+        // Moving without a button held means any drag has ended.
+        this.dragPoint = null;
+        if (this.promptingDelete) {
+            // The board is covered by the prompt, so nothing under the mouse can change.
+            return event;
+        }
         // When hovering over a task, change task bank tab to highlighted.
-        Point previousBoardPoint = boardContains(previousRelativePoint);
-        Point currentBoardPoint = boardContains(relativeOffset);
+        Point imagePoint = this.toImagePoint(relativeOffset);
+        Point previousBoardPoint = boardContains(this.previousImagePoint);
+        Point currentBoardPoint = boardContains(imagePoint);
         if (currentBoardPoint != null || previousBoardPoint != null) {
-            this.hoveredTask = currentBoardPoint;
-            this.plugin.requestRedraw();
-            this.previousRelativePoint = relativeOffset;
+            // The hovered tile is drawn as a highlight, so the board itself doesn't need to be redrawn.
+            if (!Objects.equals(this.hoveredTask, currentBoardPoint)) {
+                this.hoveredTask = currentBoardPoint;
+                this.plugin.requestHighlightRedraw();
+            }
+            this.previousImagePoint = imagePoint;
         }
         return event;
     }
 
     @Override
     public MouseEvent mouseDragged(MouseEvent event, Point relativeOffset) {
-        return this.mouseMoved(event, relativeOffset);
+        Point dragPoint = this.dragPoint;
+        if (dragPoint == null || this.promptingDelete || relativeOffset == null || !SwingUtilities.isLeftMouseButton(event)) {
+            return this.mouseMoved(event, relativeOffset);
+        }
+        // The board moves with the mouse, so the view moves the opposite way.
+        // A drag only starts on the board, so the board has been drawn.
+        Point imagePoint = this.toImagePoint(relativeOffset);
+        Rectangle board = this.boardRectangle;
+        BoardViewport current = this.clampViewport(this.viewport, board.getSize());
+        this.setViewport(new BoardViewport(
+                current.zoom,
+                current.x - (imagePoint.x - dragPoint.x),
+                current.y - (imagePoint.y - dragPoint.y)
+        ), board, imagePoint);
+        this.dragPoint = imagePoint;
+        this.previousImagePoint = imagePoint;
+        event.consume();
+        return event;
     }
 
     @Override
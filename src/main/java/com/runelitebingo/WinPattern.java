@@ -0,0 +1,140 @@
+package com.runelitebingo;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * A way of winning a bingo game. A pattern is made of one or more masks over the board; completing every tile of any
+ * one of them wins. Bit <code>row * boardSize + col</code> of a mask stands for the tile at (row, col).
+ */
+public enum WinPattern {
+    /**
+     * Every tile of any row.
+     */
+    ROWS("Rows", "a row") {
+        @Override
+        List<BitSet> getMasks(int boardSize) {
+            List<BitSet> masks = new ArrayList<>();
+            for (int row = 0; row < boardSize; row++) {
+                BitSet mask = new BitSet();
+                mask.set(row * boardSize, (row + 1) * boardSize);
+                masks.add(mask);
+            }
+            return masks;
+        }
+    },
+    /**
+     * Every tile of any column.
+     */
+    COLUMNS("Columns", "a column") {
+        @Override
+        List<BitSet> getMasks(int boardSize) {
+            List<BitSet> masks = new ArrayList<>();
+            for (int col = 0; col < boardSize; col++) {
+                BitSet mask = new BitSet();
+                for (int row = 0; row < boardSize; row++) {
+                    mask.set(row * boardSize + col);
+                }
+                masks.add(mask);
+            }
+            return masks;
+        }
+    },
+    /**
+     * Every tile of either diagonal.
+     */
+    DIAGONALS("Diagonals", "a diagonal") {
+        @Override
+        List<BitSet> getMasks(int boardSize) {
+            List<BitSet> masks = new ArrayList<>();
+            masks.add(diagonal(boardSize));
+            masks.add(antiDiagonal(boardSize));
+            return masks;
+        }
+    },
+    /**
+     * The four corner tiles.
+     */
+    FOUR_CORNERS("Four corners", "the four corners") {
+        @Override
+        List<BitSet> getMasks(int boardSize) {
+            BitSet mask = new BitSet();
+            mask.set(0);
+            mask.set(boardSize - 1);
+            mask.set((boardSize - 1) * boardSize);
+            mask.set(boardSize * boardSize - 1);
+            List<BitSet> masks = new ArrayList<>();
+            masks.add(mask);
+            return masks;
+        }
+    },
+    /**
+     * Every tile of both diagonals at once.
+     */
+    X("X", "both diagonals") {
+        @Override
+        List<BitSet> getMasks(int boardSize) {
+            BitSet mask = diagonal(boardSize);
+            mask.or(antiDiagonal(boardSize));
+            List<BitSet> masks = new ArrayList<>();
+            masks.add(mask);
+            return masks;
+        }
+    },
+    /**
+     * Every tile on the board.
+     */
+    BLACKOUT("Blackout", "every task on the board") {
+        @Override
+        List<BitSet> getMasks(int boardSize) {
+            BitSet mask = new BitSet();
+            mask.set(0, boardSize * boardSize);
+            List<BitSet> masks = new ArrayList<>();
+            masks.add(mask);
+            return masks;
+        }
+    };
+
+    private final String displayName;
+    private final String description;
+
+    WinPattern(String displayName, String description) {
+        this.displayName = displayName;
+        this.description = description;
+    }
+
+    /**
+     * @param boardSize The number of rows and columns of the board.
+     * @return The masks of the pattern; completing any one of them wins.
+     */
+    abstract List<BitSet> getMasks(int boardSize);
+
+    /**
+     * @return What has to be completed to win with this pattern, to finish the sentence "You win when you complete...".
+     */
+    String getDescription() {
+        return this.description;
+    }
+
+    @Override
+    public String toString() {
+        return this.displayName;
+    }
+
+    private static BitSet diagonal(int boardSize) {
+        BitSet mask = new BitSet();
+        for (int i = 0; i < boardSize; i++) {
+            mask.set(i * boardSize + i);
+        }
+        return mask;
+    }
+
+    private static BitSet antiDiagonal(int boardSize) {
+        BitSet mask = new BitSet();
+        for (int i = 0; i < boardSize; i++) {
+            mask.set((boardSize - i - 1) * boardSize + i);
+        }
+        return mask;
+    }
+}
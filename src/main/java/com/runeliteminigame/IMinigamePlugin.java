@@ -1,18 +1,28 @@
 package com.runeliteminigame;
 
+import com.runeliteminigame.display.RenderStats;
 import com.runeliteminigame.pluginlisteners.ICombatListener;
+import com.runeliteminigame.util.SpriteAtlas;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.game.SpriteManager;
 import net.runelite.client.input.KeyManager;
 import net.runelite.client.input.MouseManager;
 import net.runelite.client.menus.MenuManager;
 
+import java.awt.image.BufferedImage;
+
 public interface IMinigamePlugin {
 
     ItemManager getItemManager();
     SpriteManager getSpriteManager();
 
+    // Safe to call from any thread. Returns null until the sprite has been loaded on the client thread,
+    // after which a redraw is requested.
+    BufferedImage getSprite(int spriteID);
+    SpriteAtlas getSpriteAtlas();
+
     void registerPlayerKilledNPCListener(ICombatListener task);
+    // May be called by a listener from within its own onPlayerKilledNPC, while kills are being delivered.
     void removePlayerKilledNPCListener(ICombatListener task);
 
     KeyManager getKeyManager();
@@ -20,6 +30,12 @@ public interface IMinigamePlugin {
     MenuManager getMenuManager();
 
     void requestRedraw();
+    // Only updates the highlights drawn over the overlay, which is much cheaper than a full redraw.
+    void requestHighlightRedraw();
+    // Only redraws the modal drawn over the current minigame; the rest of the overlay is reused as it is.
+    void requestModalRedraw();
+    // Timings of the stages of drawing the overlay, shown by the debug HUD.
+    RenderStats getRenderStats();
 
     String name();
 }
@@ -0,0 +1,89 @@
+package com.runeliteminigame.display;
+
+import java.awt.Color;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Draws the overlay's {@link RenderStats} as text on top of the overlay.
+ *
+ * The text is only regenerated a few times per second, so that drawing the HUD on every frame doesn't show up in
+ * the timings it reports. Must only be used from the render thread.
+ */
+class DebugHud {
+
+    private static final long REFRESH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final Color BACKGROUND_COLOR = new Color(0, 0, 0, 180);
+    private static final int PADDING = 3;
+
+    private final RenderStats stats;
+    private final List<String> lines = new ArrayList<>();
+    private long lastRefreshNanos = 0;
+
+    DebugHud(RenderStats stats) {
+        this.stats = stats;
+    }
+
+    /**
+     * Draws the HUD with its top-left corner at the given position.
+     * @param graphics The graphics to draw onto. Its state is left unchanged.
+     * @param x The x coordinate of the left edge of the HUD.
+     * @param y The y coordinate of the top edge of the HUD.
+     */
+    void draw(Graphics2D graphics, int x, int y) {
+        long now = System.nanoTime();
+        if (this.lines.isEmpty() || now - this.lastRefreshNanos >= REFRESH_INTERVAL_NANOS) {
+            this.refresh();
+            this.lastRefreshNanos = now;
+        }
+
+        Graphics2D hud = (Graphics2D) graphics.create();
+        try {
+            FontMetrics metrics = hud.getFontMetrics();
+            int lineHeight = metrics.getHeight();
+            int width = 0;
+            for (String line : this.lines) {
+                width = Math.max(width, metrics.stringWidth(line));
+            }
+            hud.setColor(BACKGROUND_COLOR);
+            hud.fillRect(x, y, width + 2 * PADDING, lineHeight * this.lines.size() + 2 * PADDING);
+
+            int baseline = y + PADDING + metrics.getAscent();
+            for (String line : this.lines) {
+                hud.setColor(Color.BLACK);
+                hud.drawString(line, x + PADDING + 1, baseline + 1);
+                hud.setColor(Color.WHITE);
+                hud.drawString(line, x + PADDING, baseline);
+                baseline += lineHeight;
+            }
+        } finally {
+            hud.dispose();
+        }
+    }
+
+    private void refresh() {
+        this.lines.clear();
+        for (RenderStats.Stage stage : RenderStats.Stage.values()) {
+            RenderStats.Summary summary = this.stats.getSummary(stage);
+            this.lines.add(String.format(
+                    "%s: p50 %s  p99 %s  max %s",
+                    stage.getDisplayName(),
+                    formatNanos(summary.getP50()),
+                    formatNanos(summary.getP99()),
+                    formatNanos(summary.getMax())
+            ));
+        }
+        this.lines.add(String.format(
+                "redraws: %d requested, %d performed",
+                this.stats.getRedrawsRequested(),
+                this.stats.getRedrawsPerformed()
+        ));
+    }
+
+    private static String formatNanos(long nanos) {
+        return String.format("%.2fms", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,153 @@
+package com.runeliteminigame.display;
+
+import com.runeliteminigame.util.ImageAllocator;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Builds overlay frames on a background thread, so that slow minigame rendering never blocks the client's
+ * render path.
+ *
+ * Finished frames are published through an atomic reference; the render thread only ever draws the latest
+ * published frame. At most one build is queued at a time: invalidations that arrive while a build is already
+ * queued are folded into that build, and a published frame that is replaced before the render thread picks it up
+ * is simply dropped.
+ *
+ * Highlight changes don't rebuild the frame: they publish a copy of the latest frame, sharing its image, with new
+ * highlight patches. Patch images are returned to the shared surface pool once they're no longer drawn.
+ */
+class FrameBuilder {
+
+    /**
+     * A finished, immutable frame. The image is never drawn into again while it is published or on screen.
+     * The patches are copied over the image when it is drawn, without modifying the image itself.
+     * The image has <code>scale</code> pixels per unit of overlay size.
+     */
+    static final class Frame {
+        final BufferedImage image;
+        final long version;
+        final double scale;
+        final List<LayerCompositor.Patch> patches;
+
+        private Frame(BufferedImage image, long version, double scale, List<LayerCompositor.Patch> patches) {
+            this.image = image;
+            this.version = version;
+            this.scale = scale;
+            this.patches = patches;
+        }
+    }
+
+    private final LayerCompositor compositor;
+    private final RenderStats stats;
+    private final ExecutorService executor;
+    private final AtomicBoolean buildQueued = new AtomicBoolean(false);
+    private final AtomicBoolean highlightQueued = new AtomicBoolean(false);
+    private final AtomicReference<Frame> publishedFrame = new AtomicReference<>();
+    // A frame that the render thread has stopped drawing, which the builder may draw into again.
+    private final AtomicReference<BufferedImage> recycledImage = new AtomicReference<>();
+    // Only accessed by the render thread.
+    private Frame displayedFrame = null;
+    // Only accessed by the builder thread.
+    private long nextVersion = 0;
+
+    FrameBuilder(LayerCompositor compositor, RenderStats stats) {
+        this.compositor = compositor;
+        this.stats = stats;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "minigame-frame-builder");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues a rebuild of the frame, unless one is already queued.
+     */
+    void requestBuild() {
+        if (this.buildQueued.compareAndSet(false, true)) {
+            try {
+                this.executor.execute(this::build);
+            } catch (RejectedExecutionException e) {
+                // Shut down; nothing will be drawn again.
+                this.buildQueued.set(false);
+            }
+        }
+    }
+
+    /**
+     * Queues an update of the highlight patches of the latest frame, unless one is already queued.
+     */
+    void requestHighlight() {
+        if (this.highlightQueued.compareAndSet(false, true)) {
+            try {
+                this.executor.execute(this::buildHighlights);
+            } catch (RejectedExecutionException e) {
+                this.highlightQueued.set(false);
+            }
+        }
+    }
+
+    /**
+     * Returns the most recently published frame. Must only be called from the render thread.
+     * @return The latest frame, or null if no frame has been built yet.
+     */
+    Frame getLatestFrame() {
+        Frame latest = this.publishedFrame.get();
+        if (latest != this.displayedFrame) {
+            if (this.displayedFrame != null && (latest == null || latest.image != this.displayedFrame.image)) {
+                // The render thread won't draw the old frame again, so the builder can reuse its image.
+                // Frames that only differ by their highlights share their image, which is still in use.
+                this.recycledImage.set(this.displayedFrame.image);
+            }
+            if (this.displayedFrame != null && (latest == null || latest.patches != this.displayedFrame.patches)) {
+                // Only the patches' positions and sizes are still read, to restore the frame under them, and a
+                // pooled surface is only handed out again for the same size.
+                LayerCompositor.releasePatches(this.displayedFrame.patches);
+            }
+            this.displayedFrame = latest;
+        }
+        return latest;
+    }
+
+    void shutDown() {
+        this.executor.shutdownNow();
+    }
+
+    private void build() {
+        // Clear the flag first, so an invalidation that arrives mid-build queues another build.
+        this.buildQueued.set(false);
+        if (!this.compositor.isInvalid() && this.publishedFrame.get() != null) {
+            // An earlier build already picked up every invalidation.
+            return;
+        }
+
+        double scale = this.compositor.getScale();
+        int width = this.compositor.getWidth(scale);
+        int height = this.compositor.getHeight(scale);
+        BufferedImage target = this.recycledImage.getAndSet(null);
+        if (target == null || target.getWidth() != width || target.getHeight() != height) {
+            target = ImageAllocator.createCompatibleImage(width, height);
+        }
+        this.compositor.compose(target, scale);
+        this.stats.countRedrawPerformed();
+        List<LayerCompositor.Patch> patches = this.compositor.composeHighlights();
+        this.publishedFrame.set(new Frame(target, this.nextVersion++, scale, patches));
+    }
+
+    private void buildHighlights() {
+        this.highlightQueued.set(false);
+        Frame latest = this.publishedFrame.get();
+        if (latest == null) {
+            // The first full build picks up the highlights.
+            return;
+        }
+        List<LayerCompositor.Patch> patches = this.compositor.composeHighlights();
+        this.publishedFrame.set(new Frame(latest.image, latest.version, latest.scale, patches));
+    }
+}
@@ -0,0 +1,35 @@
+package com.runeliteminigame.display;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+
+/**
+ * A small area of an element's image that is drawn differently while it is highlighted, such as a hovered tile.
+ *
+ * Highlights are applied on top of the cached overlay frame instead of being drawn into it, so that moving the
+ * mouse between tiles only replaces the highlighted area rather than rebuilding the frame.
+ */
+public final class Highlight {
+
+    private final Rectangle bounds;
+    private final BufferedImage image;
+
+    /**
+     * @param bounds The highlighted area, in the coordinates of the image it applies to.
+     * @param image The highlighted version of the area. It replaces everything the element drew within
+     *              <code>bounds</code>, and must have the same size. It is only read while the frame's highlights
+     *              are composited, so the element may draw its next highlight into the same image.
+     */
+    public Highlight(Rectangle bounds, BufferedImage image) {
+        this.bounds = new Rectangle(bounds);
+        this.image = image;
+    }
+
+    public Rectangle getBounds() {
+        return new Rectangle(this.bounds);
+    }
+
+    public BufferedImage getImage() {
+        return this.image;
+    }
+}
@@ -17,7 +17,32 @@ public interface IDisplayableElement extends IDisplayableWithIcon {
      *                           of this function to the specified target. Should be null if no scaling will be
      *                           performed. Typically used by the IDisplayableElement to prevent image distortion
      *                           by the caller.
+     * @param scale The number of physical pixels per unit of the requested dimension, for example 2 on a display
+     *              scaled to 200%. The element should lay itself out in the requested dimension and return an image
+     *              that is the requested dimension multiplied by the scale, so that nothing has to be upscaled.
      * @return The BufferedImage representing the main image representing the element's current state.
      */
-    BufferedImage getMainImage(IMinigamePlugin plugin, Dimension requestedDimension);
+    BufferedImage getMainImage(IMinigamePlugin plugin, Dimension requestedDimension, double scale);
+
+    /**
+     * Creates and returns an image that should be drawn over the main image, such as a confirmation prompt.
+     * The caller caches this separately from the main image, so it can be drawn and invalidated independently.
+     * @param plugin The IMinigamePlugin that can provided supplemental information for use when drawing.
+     * @param requestedDimension The requested output dimension, which is the same as the one passed to
+     *                           {@link #getMainImage(IMinigamePlugin, Dimension, double)}.
+     * @param scale The scale, which is the same as the one passed to
+     *              {@link #getMainImage(IMinigamePlugin, Dimension, double)}.
+     * @return The BufferedImage to draw over the main image, or null if nothing should be drawn.
+     */
+    BufferedImage getModalImage(IMinigamePlugin plugin, Dimension requestedDimension, double scale);
+
+    /**
+     * Returns the area of the main image that is currently highlighted, such as a hovered tile.
+     * The highlight is drawn over the cached main image, so the main image itself should not show it.
+     * When the highlight changes, the element should call {@link IMinigamePlugin#requestHighlightRedraw()}
+     * instead of requesting a full redraw.
+     * @param plugin The IMinigamePlugin that can provided supplemental information for use when drawing.
+     * @return The highlight, in the coordinates of the main image, or null if nothing is highlighted.
+     */
+    Highlight getHighlight(IMinigamePlugin plugin);
 }
@@ -0,0 +1,37 @@
+package com.runeliteminigame.display;
+
+import java.awt.Dimension;
+import java.awt.Point;
+import java.awt.image.BufferedImage;
+
+interface ILayerRenderer {
+
+    /**
+     * Renders the content of a single layer.
+     * @param layer The layer to render.
+     * @param scale The number of frame pixels per unit of layer size. Layers should be rendered at their size
+     *              multiplied by the scale, so that they are drawn at the display's physical resolution.
+     * @return The image for the layer, or null if the layer currently has nothing to draw. The image is never
+     *      stretched, so it must have the layer's size multiplied by the scale and rounded.
+     */
+    BufferedImage renderLayer(MinigameLayer layer, double scale);
+
+    /**
+     * @param layer The layer whose size is requested.
+     * @return The size of the layer, in the same units as the frame's size.
+     */
+    Dimension getLayerSize(MinigameLayer layer);
+
+    /**
+     * @param layer The layer whose position is requested.
+     * @return The position, relative to the top-left of the composited frame, at which the layer is drawn.
+     */
+    Point getLayerOrigin(MinigameLayer layer);
+
+    /**
+     * Returns the highlighted area of a layer, which replaces the layer's content within that area.
+     * @param layer The layer whose highlight is requested.
+     * @return The highlight, in the coordinates of the image returned by {@link #renderLayer(MinigameLayer, double)}, or null if nothing in the layer is highlighted.
+     */
+    Highlight renderHighlight(MinigameLayer layer);
+}
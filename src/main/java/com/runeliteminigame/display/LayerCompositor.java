@@ -0,0 +1,275 @@
+package com.runeliteminigame.display;
+
+import com.runeliteminigame.util.DrawingScope;
+import com.runeliteminigame.util.ImageAllocator;
+
+import java.awt.AlphaComposite;
+import java.awt.Dimension;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Retained-mode compositor that keeps a cached image per {@link MinigameLayer}.
+ *
+ * Invalidating a layer only causes that layer to be re-rendered; the frame itself is then re-composited from the
+ * cached images of every layer. Invalidation may happen from any thread, while composition is expected to happen
+ * on a single thread (see {@link FrameBuilder}).
+ *
+ * Frames are composited at the display's scale, so that on a scaled display the frame has one pixel per physical
+ * pixel and can be drawn without any further scaling. Layers are rendered at that scale too, so their images are
+ * drawn into the frame as they are, and never stretched.
+ *
+ * While a modal is shown, everything beneath it is kept as a single flattened snapshot. Redrawing only the modal
+ * then copies the snapshot and draws the modal over it, without touching any other layer.
+ *
+ * Highlights are composited separately, into small patches that exactly replace the frame's pixels over the
+ * highlighted areas. This lets a highlight move without re-compositing the frame.
+ */
+class LayerCompositor {
+
+    /**
+     * A composited area of the frame, to be copied over the frame at the given position. The image comes from the
+     * shared surface pool, and is released back to it once the patch is no longer drawn.
+     */
+    static final class Patch {
+        final BufferedImage image;
+        final int x;
+        final int y;
+
+        private Patch(BufferedImage image, int x, int y) {
+            this.image = image;
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    private static final int ALL_LAYERS = (1 << MinigameLayer.values().length) - 1;
+    private static final int LAYERS_BELOW_MODAL = ALL_LAYERS & ~(1 << MinigameLayer.MODAL.ordinal());
+
+    private final ILayerRenderer renderer;
+    // The images returned by the renderer, in frame pixels. Highlights are relative to these.
+    private final EnumMap<MinigameLayer, BufferedImage> layerImages = new EnumMap<>(MinigameLayer.class);
+    // One bit per layer ordinal.
+    private final AtomicInteger invalidLayers = new AtomicInteger(ALL_LAYERS);
+    private final int width;
+    private final int height;
+    private volatile double scale = 1.0;
+    // The scale of the cached layer images. Only accessed by the compositing thread.
+    private double composedScale = 1.0;
+    // Every layer below the modal, flattened. Only kept up to date while a modal is shown.
+    private BufferedImage underlayImage = null;
+    private boolean underlayValid = false;
+
+    LayerCompositor(ILayerRenderer renderer, int width, int height) {
+        this.renderer = renderer;
+        this.width = width;
+        this.height = height;
+    }
+
+    void invalidate(MinigameLayer layer) {
+        this.invalidLayers.getAndUpdate(invalid -> invalid | (1 << layer.ordinal()));
+    }
+
+    void invalidateAll() {
+        this.invalidLayers.set(ALL_LAYERS);
+    }
+
+    boolean isInvalid() {
+        return this.invalidLayers.get() != 0;
+    }
+
+    /**
+     * Sets the number of frame pixels per unit of layer size. Changing the scale re-renders every layer.
+     * @param scale The display's scale, for example 2 on a display scaled to 200%.
+     */
+    void setScale(double scale) {
+        if (scale != this.scale) {
+            this.scale = scale;
+            this.invalidateAll();
+        }
+    }
+
+    double getScale() {
+        return this.scale;
+    }
+
+    /**
+     * Re-renders any invalidated layers and composites every layer into <code>target</code>.
+     * @param target The image into which the frame is composited. It is cleared before drawing, and should have the
+     *               size given by {@link #getWidth(double)} and {@link #getHeight(double)}.
+     * @param scale The scale to composite at, as returned by {@link #getScale()} when the target was allocated.
+     */
+    void compose(BufferedImage target, double scale) {
+        int invalid = this.invalidLayers.getAndSet(0);
+        if (scale != this.composedScale) {
+            invalid = ALL_LAYERS;
+            this.composedScale = scale;
+        }
+        for (MinigameLayer layer : MinigameLayer.values()) {
+            if ((invalid & (1 << layer.ordinal())) != 0) {
+                BufferedImage rendered = this.renderer.renderLayer(layer, scale);
+                this.layerImages.put(layer, this.checkLayerSize(layer, rendered));
+            }
+        }
+        if ((invalid & LAYERS_BELOW_MODAL) != 0) {
+            this.underlayValid = false;
+        }
+
+        BufferedImage modalImage = this.layerImages.get(MinigameLayer.MODAL);
+        if (modalImage == null) {
+            this.drawLayers(target, ALL_LAYERS);
+            return;
+        }
+
+        if (
+                this.underlayImage == null ||
+                this.underlayImage.getWidth() != target.getWidth() ||
+                this.underlayImage.getHeight() != target.getHeight()
+        ) {
+            this.underlayImage = ImageAllocator.createCompatibleImage(target.getWidth(), target.getHeight());
+            this.underlayValid = false;
+        }
+        if (!this.underlayValid) {
+            this.drawLayers(this.underlayImage, LAYERS_BELOW_MODAL);
+            this.underlayValid = true;
+        }
+
+        try (DrawingScope scope = DrawingScope.on(target)) {
+            scope.getGraphics().setComposite(AlphaComposite.Src);
+            scope.getGraphics().drawImage(this.underlayImage, 0, 0, null);
+            scope.getGraphics().setComposite(AlphaComposite.SrcOver);
+            Point origin = this.getScaledOrigin(MinigameLayer.MODAL);
+            scope.getGraphics().drawImage(modalImage, origin.x, origin.y, null);
+        }
+    }
+
+    /**
+     * Clears <code>target</code> and draws the cached images of the given layers into it.
+     * @param layers One bit per layer ordinal, for the layers to draw.
+     */
+    private void drawLayers(BufferedImage target, int layers) {
+        try (DrawingScope scope = DrawingScope.on(target)) {
+            scope.clear();
+            for (MinigameLayer layer : MinigameLayer.values()) {
+                if ((layers & (1 << layer.ordinal())) == 0) {
+                    continue;
+                }
+                BufferedImage layerImage = this.layerImages.get(layer);
+                if (layerImage != null) {
+                    Point origin = this.getScaledOrigin(layer);
+                    scope.getGraphics().drawImage(layerImage, origin.x, origin.y, null);
+                }
+            }
+        }
+    }
+
+    /**
+     * Composites a patch for every highlighted area, using the layer images from the last call to
+     * {@link #compose(BufferedImage, double)}. Within a patch, the highlighted layer's content is replaced by its
+     * highlight and every other layer is drawn as it is in the frame.
+     * Patch images are taken from the shared surface pool, so moving a highlight between same-sized tiles reuses
+     * the images of patches that were released with {@link #releasePatches(List)}.
+     * @return The patches to copy over the frame; empty if nothing is highlighted.
+     */
+    List<Patch> composeHighlights() {
+        List<Patch> patches = new ArrayList<>();
+        for (MinigameLayer highlightedLayer : MinigameLayer.values()) {
+            if (this.layerImages.get(highlightedLayer) == null) {
+                continue;
+            }
+            Highlight highlight = this.renderer.renderHighlight(highlightedLayer);
+            if (highlight == null) {
+                continue;
+            }
+            Rectangle bounds = highlight.getBounds();
+            if (bounds.width <= 0 || bounds.height <= 0) {
+                continue;
+            }
+            Point highlightOrigin = this.getScaledOrigin(highlightedLayer);
+            Rectangle patchBounds = new Rectangle(
+                    highlightOrigin.x + bounds.x,
+                    highlightOrigin.y + bounds.y,
+                    bounds.width,
+                    bounds.height
+            );
+
+            // Pooled surfaces are handed out cleared.
+            BufferedImage patch = ImageAllocator.getSurfacePool().acquire(patchBounds.width, patchBounds.height);
+            try (DrawingScope scope = DrawingScope.on(patch)) {
+                for (MinigameLayer layer : MinigameLayer.values()) {
+                    if (layer == highlightedLayer) {
+                        scope.getGraphics().drawImage(highlight.getImage(), 0, 0, null);
+                        continue;
+                    }
+                    BufferedImage otherImage = this.layerImages.get(layer);
+                    if (otherImage != null) {
+                        Point origin = this.getScaledOrigin(layer);
+                        scope.getGraphics().drawImage(otherImage, origin.x - patchBounds.x, origin.y - patchBounds.y, null);
+                    }
+                }
+            }
+            patches.add(new Patch(patch, patchBounds.x, patchBounds.y));
+        }
+        return Collections.unmodifiableList(patches);
+    }
+
+    /**
+     * Returns the images of patches that are no longer drawn to the shared surface pool. Only the positions and
+     * sizes of released patches may still be read afterwards; their images may already be drawn into again.
+     * @param patches Patches returned by {@link #composeHighlights()}.
+     */
+    static void releasePatches(List<Patch> patches) {
+        for (Patch patch : patches) {
+            ImageAllocator.getSurfacePool().release(patch.image);
+        }
+    }
+
+    /**
+     * @param scale The scale of the frame.
+     * @return The width of a frame composited at that scale.
+     */
+    int getWidth(double scale) {
+        return scaled(this.width, scale);
+    }
+
+    /**
+     * @param scale The scale of the frame.
+     * @return The height of a frame composited at that scale.
+     */
+    int getHeight(double scale) {
+        return scaled(this.height, scale);
+    }
+
+    private Point getScaledOrigin(MinigameLayer layer) {
+        Point origin = this.renderer.getLayerOrigin(layer);
+        return new Point(scaled(origin.x, this.composedScale), scaled(origin.y, this.composedScale));
+    }
+
+    /**
+     * Checks that the rendered image of a layer has the layer's size in frame pixels. Renderers draw their layers at
+     * the frame's scale, so a mismatch is a bug in the renderer; the image is then drawn as it is rather than
+     * stretched, since stretching is exactly the blur that rendering at scale avoids.
+     */
+    private BufferedImage checkLayerSize(MinigameLayer layer, BufferedImage rendered) {
+        if (rendered == null || rendered.getWidth() <= 0 || rendered.getHeight() <= 0) {
+            return null;
+        }
+        Dimension size = this.renderer.getLayerSize(layer);
+        int layerWidth = scaled(size.width, this.composedScale);
+        int layerHeight = scaled(size.height, this.composedScale);
+        assert rendered.getWidth() == layerWidth && rendered.getHeight() == layerHeight :
+                layer + " layer rendered at " + rendered.getWidth() + "x" + rendered.getHeight() +
+                        " instead of " + layerWidth + "x" + layerHeight;
+        return rendered;
+    }
+
+    private static int scaled(int value, double scale) {
+        return (int) Math.round(value * scale);
+    }
+}
@@ -22,10 +22,10 @@ public class MinigameAddButton implements IDisplayableWithIcon, IMinigameInputHa
     @Override
     public BufferedImage getIcon(IMinigamePlugin plugin) {
         if (this.shouldAdd) {
-            return plugin.getSpriteManager().getSprite(SpriteID.BANK_ADD_TAB_ICON, 0);
+            return plugin.getSprite(SpriteID.BANK_ADD_TAB_ICON);
         }
         else {
-            return plugin.getSpriteManager().getSprite(SpriteID.WINDOW_CLOSE_BUTTON_BROWN_X, 0);
+            return plugin.getSprite(SpriteID.WINDOW_CLOSE_BUTTON_BROWN_X);
         }
     }
 
@@ -38,7 +38,7 @@ public class MinigameAddButton implements IDisplayableWithIcon, IMinigameInputHa
     public void keyPressed(KeyEvent event) {
         if (event.getKeyCode() == KeyEvent.VK_SHIFT && this.shouldAdd) {
             shouldAdd = false;
-            this.minigameDisplayContainer.requestRedraw();
+            this.minigameDisplayContainer.requestRedraw(MinigameLayer.TOOLBAR);
         }
     }
 
@@ -46,7 +46,7 @@ public class MinigameAddButton implements IDisplayableWithIcon, IMinigameInputHa
     public void keyReleased(KeyEvent event) {
         if (event.getKeyCode() == KeyEvent.VK_SHIFT && !this.shouldAdd) {
             shouldAdd = true;
-            this.minigameDisplayContainer.requestRedraw();
+            this.minigameDisplayContainer.requestRedraw(MinigameLayer.TOOLBAR);
         }
     }
 
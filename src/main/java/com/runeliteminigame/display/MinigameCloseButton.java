@@ -1,8 +1,6 @@
 package com.runeliteminigame.display;
 
 import com.runeliteminigame.IMinigamePlugin;
-import com.runeliteminigame.util.ImageUtils;
-import net.runelite.client.game.SpriteManager;
 
 import javax.swing.SwingUtilities;
 import java.awt.Point;
@@ -16,14 +14,11 @@ import static net.runelite.api.SpriteID.WINDOW_CLOSE_BUTTON_RED_X_HOVERED;
 
 class MinigameCloseButton implements IDisplayableWithIcon, IMinigameInputHandler {
 
-    private final SpriteManager spriteManager;
-
     private boolean isCloseButtonHovered;
     private final MinigameDisplayContainer minigameDisplayContainer;
 
-    MinigameCloseButton(MinigameDisplayContainer minigameDisplayContainer, SpriteManager manager) {
+    MinigameCloseButton(MinigameDisplayContainer minigameDisplayContainer) {
         this.minigameDisplayContainer = minigameDisplayContainer;
-        this.spriteManager = manager;
     }
 
     @Override
@@ -70,7 +65,11 @@ class MinigameCloseButton implements IDisplayableWithIcon, IMinigameInputHandler
 
     @Override
     public MouseEvent mouseMoved(MouseEvent event, Point relativeOffset) {
-        this.isCloseButtonHovered = isWithinCloseButton(relativeOffset);
+        boolean hovered = isWithinCloseButton(relativeOffset);
+        if (hovered != this.isCloseButtonHovered) {
+            this.isCloseButtonHovered = hovered;
+            this.minigameDisplayContainer.requestRedraw(MinigameLayer.TOOLBAR);
+        }
         return event;
     }
 
@@ -86,16 +85,7 @@ class MinigameCloseButton implements IDisplayableWithIcon, IMinigameInputHandler
 
     @Override
     public BufferedImage getIcon(IMinigamePlugin plugin) {
-        if (isCloseButtonHovered) {
-            return ImageUtils.scaleSquare(
-                    this.spriteManager.getSprite(WINDOW_CLOSE_BUTTON_RED_X_HOVERED, 0),
-                    MinigameToolbar.getToolbarHeight()
-            );
-        } else {
-            return ImageUtils.scaleSquare(
-                    this.spriteManager.getSprite(WINDOW_CLOSE_BUTTON_RED_X, 0),
-                    MinigameToolbar.getToolbarHeight()
-            );
-        }
+        // The toolbar scales the sprite to the size of its tiles.
+        return plugin.getSprite(isCloseButtonHovered ? WINDOW_CLOSE_BUTTON_RED_X_HOVERED : WINDOW_CLOSE_BUTTON_RED_X);
     }
 }
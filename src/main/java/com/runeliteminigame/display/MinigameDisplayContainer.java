@@ -1,9 +1,11 @@
 package com.runeliteminigame.display;
 
 import com.runelitebingo.SinglePlayerBingoGame;
+import com.runelitebingo.WinPattern;
 import com.runeliteminigame.IMinigame;
 import com.runeliteminigame.IMinigamePlugin;
-import com.runeliteminigame.util.ImageUtils;
+import com.runeliteminigame.util.DrawingScope;
+import com.runeliteminigame.util.ImageAllocator;
 import net.runelite.api.events.WidgetMenuOptionClicked;
 import net.runelite.api.widgets.WidgetInfo;
 import net.runelite.client.input.KeyManager;
@@ -24,10 +26,15 @@ import java.awt.Graphics2D;
 import java.awt.Point;
 import java.awt.Rectangle;
 import java.awt.event.KeyEvent;
+import java.awt.geom.AffineTransform;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseWheelEvent;
 import java.awt.image.BufferedImage;
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Class designed to hold the graphics for sub minigames.
@@ -38,29 +45,40 @@ import java.util.ArrayList;
  * (Archiving detaches a game from the display until it's re-added).
  */
 @Singleton
-public class MinigameDisplayContainer extends Overlay implements IMinigameInputHandler {
+public class MinigameDisplayContainer extends Overlay implements IMinigameInputHandler, ILayerRenderer {
 
     private static final int WIDGET_HEIGHT = 360;
     private static final int WIDGET_WIDTH = MinigameToolbar.getToolbarHeight() * MinigameToolbar.getTotalTiles();
     private static final int IMG_WIDTH = WIDGET_WIDTH;
     private static final int IMG_HEIGHT = MinigameToolbar.getToolbarHeight() + WIDGET_HEIGHT;
+    // The background frame extends this far past the overlay content on every side.
+    private static final int FRAME_PADDING = 5;
+    // Frames are never composited at more than this many pixels per overlay pixel.
+    private static final double MAX_RENDER_SCALE = 4.0;
 
-    private boolean redraw;
     private final IMinigamePlugin plugin;
     private final MinigameInputListener inputListener;
     private MenuManager menuManager;
 
-    private final ArrayList<IDisplayableMinigame> loadedMinigames = new ArrayList<>();
+    // Frames are built on a separate thread, so the list must be safe to iterate while it's being modified.
+    private final List<IDisplayableMinigame> loadedMinigames = new CopyOnWriteArrayList<>();
     // current minigame index - index of the minigame being displayed right now.
-    private int currentMinigameIndex = 0;
+    private volatile int currentMinigameIndex = 0;
     // first tab index - index of the first tab on the screen.
-    private int firstTabIndex = 0;
+    private volatile int firstTabIndex = 0;
     private KeyManager keyManager;
     private MouseManager mouseManager;
     private final MinigameToolbar minigameToolbar;
 
+    // The number of rows and columns of newly created bingo boards.
+    private volatile int newBoardSize = SinglePlayerBingoGame.DEFAULT_BOARD_SIZE;
+    private volatile Set<WinPattern> newWinPatterns = SinglePlayerBingoGame.DEFAULT_WIN_PATTERNS;
+
     private volatile boolean showOverlay = false;
     private final BackgroundComponent backgroundComponent = new BackgroundComponent();
+    // Only touched by the frame builder thread.
+    private BufferedImage frameImage = null;
+    private double frameImageScale = 0;
 
     private final WidgetMenuOption[] menuOptions = new WidgetMenuOption[] {
             new WidgetMenuOption("Show", "Bingo Board", WidgetInfo.FIXED_VIEWPORT_QUESTS_TAB),
@@ -69,7 +87,17 @@ public class MinigameDisplayContainer extends Overlay implements IMinigameInputH
             new WidgetMenuOption("Show", "Bingo Board", WidgetInfo.RESIZABLE_VIEWPORT_BOTTOM_LINE_INVENTORY_TAB)
     };
 
-    private BufferedImage cachedImage = null;
+    private final LayerCompositor layerCompositor = new LayerCompositor(
+            this,
+            IMG_WIDTH + 2 * FRAME_PADDING,
+            IMG_HEIGHT + 2 * FRAME_PADDING
+    );
+    private final RenderStats renderStats = new RenderStats();
+    private final DebugHud debugHud = new DebugHud(renderStats);
+    private volatile boolean debugHudEnabled = false;
+    private final FrameBuilder frameBuilder = new FrameBuilder(layerCompositor, renderStats);
+    private final VolatileFrame volatileFrame = new VolatileFrame();
+    private final RedrawScheduler redrawScheduler = new RedrawScheduler();
 
     private Point previousRelativePoint = new Point(0, 0);
 
@@ -137,7 +165,7 @@ public class MinigameDisplayContainer extends Overlay implements IMinigameInputH
      */
     private synchronized void setDisplayOverlay(boolean show) {
         showOverlay = show;
-        redraw = true;
+        this.layerCompositor.invalidateAll();
     }
 
     boolean isOverlayShown() {
@@ -146,12 +174,90 @@ public class MinigameDisplayContainer extends Overlay implements IMinigameInputH
 
     public void shutDown() {
         this.closeOverlay();
+        this.frameBuilder.shutDown();
+        this.volatileFrame.flush();
         this.unregisterInputListeners();
         this.removeCustomOptions();
     }
 
+    /**
+     * Requests a redraw of everything that depends on minigame state: the toolbar, the game and any modal.
+     */
     public void requestRedraw() {
-        this.redraw = true;
+        this.renderStats.countRedrawRequested();
+        this.layerCompositor.invalidate(MinigameLayer.TOOLBAR);
+        this.layerCompositor.invalidate(MinigameLayer.GAME);
+        this.layerCompositor.invalidate(MinigameLayer.MODAL);
+    }
+
+    /**
+     * Requests an update of the highlights drawn over the overlay, such as the hovered tile. Unlike a redraw, this
+     * doesn't rebuild the overlay.
+     */
+    public void requestHighlightRedraw() {
+        this.frameBuilder.requestHighlight();
+    }
+
+    /**
+     * Requests a redraw of the modal drawn over the current minigame, such as when a prompt opens or closes.
+     * The toolbar and the minigame's main image are reused as they are.
+     */
+    public void requestModalRedraw() {
+        this.requestRedraw(MinigameLayer.MODAL);
+    }
+
+    /**
+     * Requests a redraw of a single layer of the overlay.
+     * @param layer The layer whose content has changed.
+     */
+    void requestRedraw(MinigameLayer layer) {
+        this.renderStats.countRedrawRequested();
+        this.layerCompositor.invalidate(layer);
+    }
+
+    /**
+     * Limits how often the overlay is rebuilt. Changes that arrive in between are merged into the next rebuild.
+     * @param maxRedrawsPerSecond The maximum number of rebuilds per second.
+     */
+    public void setMaxRedrawsPerSecond(int maxRedrawsPerSecond) {
+        this.redrawScheduler.setMaxRedrawsPerSecond(maxRedrawsPerSecond);
+    }
+
+    /**
+     * Sets the size of bingo boards created from now on. Existing games keep the size they were created with.
+     * @param boardSize The number of rows and columns of new boards.
+     */
+    public void setNewBoardSize(int boardSize) {
+        this.newBoardSize = Math.max(
+                SinglePlayerBingoGame.MINIMUM_BOARD_SIZE,
+                Math.min(SinglePlayerBingoGame.MAXIMUM_BOARD_SIZE, boardSize)
+        );
+    }
+
+    /**
+     * Sets the patterns that win bingo boards created from now on. Existing games keep their patterns.
+     * @param winPatterns The patterns for new boards. If empty, new boards use the default patterns.
+     */
+    public void setNewWinPatterns(Set<WinPattern> winPatterns) {
+        if (winPatterns == null || winPatterns.isEmpty()) {
+            this.newWinPatterns = SinglePlayerBingoGame.DEFAULT_WIN_PATTERNS;
+        } else {
+            this.newWinPatterns = Collections.unmodifiableSet(EnumSet.copyOf(winPatterns));
+        }
+    }
+
+    /**
+     * @param enabled Whether to draw the render timings and redraw counts on top of the overlay.
+     */
+    public void setDebugHudEnabled(boolean enabled) {
+        this.debugHudEnabled = enabled;
+    }
+
+    /**
+     * @return The timings of drawing this overlay. Minigames record the stages they draw here.
+     */
+    public RenderStats getRenderStats() {
+        return this.renderStats;
     }
 
     void showSettings() {
@@ -162,7 +268,13 @@ public class MinigameDisplayContainer extends Overlay implements IMinigameInputH
         // TODO: To future-proof, would probably need to have a "BaseMinigame".
         // Its sole purpose would be to select a new minigame type from all candidates.
         // It would allow for the user to specify constraints for the new game.
-        this.loadedMinigames.add(SinglePlayerBingoGame.createGame(null, this.plugin));
+        this.loadedMinigames.add(SinglePlayerBingoGame.createGame(
+                null,
+                this.newBoardSize,
+                this.newWinPatterns,
+                Collections.emptyList(),
+                this.plugin
+        ));
     }
 
     void promptDelete() {
@@ -229,49 +341,174 @@ public class MinigameDisplayContainer extends Overlay implements IMinigameInputH
         if (!showOverlay) {
             return null;
         }
+        long start = this.renderStats.start();
+        try {
+            return this.renderFrame(graphics);
+        } finally {
+            this.renderStats.record(RenderStats.Stage.OVERLAY_RENDER, start);
+        }
+    }
 
-        if (redraw || cachedImage == null) {
-            // Just in case - clean up minigames on redraw.
-            this.removeDeletedMinigames();
+    private Dimension renderFrame(Graphics2D graphics) {
 
-            BufferedImage image = new BufferedImage(IMG_WIDTH, IMG_HEIGHT, BufferedImage.TYPE_INT_ARGB);
-            BufferedImage minigameImage;
-            if (this.loadedMinigames.size() > 0) {
-                minigameImage = this.loadedMinigames.get(this.currentMinigameIndex).getMainImage(
+        // Just in case - clean up minigames before drawing.
+        this.removeDeletedMinigames();
+
+        // Composite at the display's scale, so the frame doesn't have to be scaled again when it's drawn.
+        this.layerCompositor.setScale(getRenderScale(graphics.getTransform()));
+
+        // Invalidations that arrive faster than the redraw limit are picked up together by the next allowed build.
+        if (this.layerCompositor.isInvalid() && this.redrawScheduler.tryStartBuild(System.nanoTime())) {
+            this.frameBuilder.requestBuild();
+        }
+
+        // Only draw frames that are already finished; never wait on the builder.
+        FrameBuilder.Frame frame = this.frameBuilder.getLatestFrame();
+        if (frame == null) {
+            return null;
+        }
+        this.volatileFrame.draw(graphics, frame, -FRAME_PADDING, -FRAME_PADDING);
+        if (this.debugHudEnabled) {
+            this.debugHud.draw(graphics, 0, MinigameToolbar.getToolbarHeight());
+        }
+
+        return new Dimension(IMG_WIDTH + 2 * FRAME_PADDING, IMG_HEIGHT + 2 * FRAME_PADDING);
+    }
+
+    /**
+     * @param transform The transform of the graphics object the overlay is drawn with.
+     * @return The number of device pixels per overlay pixel, rounded to hundredths so that rounding noise in the
+     *      transform doesn't cause rebuilds.
+     */
+    private static double getRenderScale(AffineTransform transform) {
+        double scale = Math.max(Math.abs(transform.getScaleX()), Math.abs(transform.getScaleY()));
+        if (!(scale > 0)) {
+            return 1.0;
+        }
+        return Math.min(MAX_RENDER_SCALE, Math.round(scale * 100) / 100.0);
+    }
+
+    @Override
+    public BufferedImage renderLayer(MinigameLayer layer, double scale) {
+        switch (layer) {
+            case FRAME:
+                // The frame never changes size or content, so it is only drawn again when the scale changes.
+                if (this.frameImage == null || this.frameImageScale != scale) {
+                    int frameWidth = IMG_WIDTH + 2 * FRAME_PADDING;
+                    int frameHeight = IMG_HEIGHT + 2 * FRAME_PADDING;
+                    BufferedImage frameImage = ImageAllocator.createCompatibleImage(
+                            (int) Math.round(frameWidth * scale),
+                            (int) Math.round(frameHeight * scale)
+                    );
+                    try (DrawingScope scope = DrawingScope.on(frameImage)) {
+                        scope.getGraphics().scale(scale, scale);
+                        backgroundComponent.setRectangle(new Rectangle(0, 0, frameWidth, frameHeight));
+                        backgroundComponent.render(scope.getGraphics());
+                    }
+                    this.frameImage = frameImage;
+                    this.frameImageScale = scale;
+                }
+                return this.frameImage;
+            case TOOLBAR:
+                long toolbarStart = this.renderStats.start();
+                BufferedImage toolbarImage = this.minigameToolbar.drawToolbar(
+                        this.loadedMinigames, this.firstTabIndex, this.currentMinigameIndex, scale
+                );
+                this.renderStats.record(RenderStats.Stage.TOOLBAR, toolbarStart);
+                return toolbarImage;
+            case GAME:
+                IDisplayableMinigame game = this.getCurrentMinigame();
+                if (game == null) {
+                    return null;
+                }
+                long mainImageStart = this.renderStats.start();
+                BufferedImage minigameImage = game.getMainImage(
                         this.plugin,
-                        new Dimension(WIDGET_WIDTH, WIDGET_HEIGHT)
+                        new Dimension(WIDGET_WIDTH, WIDGET_HEIGHT),
+                        scale
                 );
-            } else {
-                minigameImage = new BufferedImage(WIDGET_WIDTH, WIDGET_HEIGHT, BufferedImage.TYPE_INT_ARGB);
-            }
-            minigameImage = ImageUtils.scale(minigameImage, WIDGET_WIDTH, WIDGET_HEIGHT);
-            image.getGraphics().drawImage(minigameImage, 0, MinigameToolbar.getToolbarHeight(), null);
-
-            BufferedImage toolbarImage = this.minigameToolbar.drawToolbar(
-                    this.loadedMinigames, this.firstTabIndex, this.currentMinigameIndex
-            );
-            toolbarImage = ImageUtils.scale(toolbarImage, IMG_WIDTH, MinigameToolbar.getToolbarHeight());
-            image.getGraphics().drawImage(toolbarImage, 0, 0, null);
+                this.renderStats.record(RenderStats.Stage.MAIN_IMAGE, mainImageStart);
+                // Rendered at the display's physical resolution, so the compositor draws it as it is.
+                return minigameImage;
+            case MODAL:
+                IDisplayableMinigame modalGame = this.getCurrentMinigame();
+                if (modalGame == null) {
+                    return null;
+                }
+                return modalGame.getModalImage(
+                        this.plugin,
+                        new Dimension(WIDGET_WIDTH, WIDGET_HEIGHT),
+                        scale
+                );
+            default:
+                throw new IllegalArgumentException("Unknown overlay layer: " + layer);
+        }
+    }
 
-            synchronized (this) {
-                cachedImage = image;
-            }
+    /**
+     * @return The minigame currently being displayed, or null if there is none. Safe to call while frames are being
+     *      built, even if the loaded minigames are concurrently modified.
+     */
+    private IDisplayableMinigame getCurrentMinigame() {
+        int index = this.currentMinigameIndex;
+        try {
+            return this.loadedMinigames.get(index);
+        } catch (IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
 
-            redraw = false;
+    @Override
+    public Dimension getLayerSize(MinigameLayer layer) {
+        switch (layer) {
+            case FRAME:
+                return new Dimension(IMG_WIDTH + 2 * FRAME_PADDING, IMG_HEIGHT + 2 * FRAME_PADDING);
+            case TOOLBAR:
+                return new Dimension(IMG_WIDTH, MinigameToolbar.getToolbarHeight());
+            case GAME:
+            case MODAL:
+                return new Dimension(WIDGET_WIDTH, WIDGET_HEIGHT);
+            default:
+                throw new IllegalArgumentException("Unknown overlay layer: " + layer);
         }
+    }
 
-        backgroundComponent.setRectangle(new Rectangle(-5, -5, cachedImage.getWidth() + 10, cachedImage.getHeight() + 10));
-        backgroundComponent.render(graphics);
-        graphics.drawImage(cachedImage, 0, 0, null);
+    @Override
+    public Point getLayerOrigin(MinigameLayer layer) {
+        switch (layer) {
+            case FRAME:
+                return new Point(0, 0);
+            case TOOLBAR:
+                return new Point(FRAME_PADDING, FRAME_PADDING);
+            case GAME:
+            case MODAL:
+                return new Point(FRAME_PADDING, FRAME_PADDING + MinigameToolbar.getToolbarHeight());
+            default:
+                throw new IllegalArgumentException("Unknown overlay layer: " + layer);
+        }
+    }
 
-        return new Dimension(cachedImage.getWidth() + 10, cachedImage.getHeight() + 10);
+    @Override
+    public Highlight renderHighlight(MinigameLayer layer) {
+        switch (layer) {
+            case TOOLBAR:
+                return this.minigameToolbar.getHighlight();
+            case GAME:
+                IDisplayableMinigame game = this.getCurrentMinigame();
+                if (game == null) {
+                    return null;
+                }
+                return game.getHighlight(this.plugin);
+            default:
+                return null;
+        }
     }
 
     /**
      * Handles game state changes and re-draws the map
      */
     public void onGameStateChanged() {
-        redraw = true;
+        this.layerCompositor.invalidateAll();
     }
 
     private boolean overlayContains(final Point offsetPoint) {
@@ -283,7 +520,7 @@ public class MinigameDisplayContainer extends Overlay implements IMinigameInputH
             // If empty, there's nothing to rotate.
             // Set the first tab index to the default, then redraw and return.
             this.firstTabIndex = 0;
-            this.requestRedraw();
+            this.requestRedraw(MinigameLayer.TOOLBAR);
             return;
         }
         if (toTheLeft) {
@@ -296,11 +533,13 @@ public class MinigameDisplayContainer extends Overlay implements IMinigameInputH
             }
         }
         this.firstTabIndex = this.firstTabIndex % this.loadedMinigames.size();
-        this.requestRedraw();
+        this.requestRedraw(MinigameLayer.TOOLBAR);
     }
 
     private void removeDeletedMinigames() {
-        this.loadedMinigames.removeIf(IMinigame::shouldDelete);
+        if (this.loadedMinigames.removeIf(IMinigame::shouldDelete)) {
+            this.requestRedraw();
+        }
         // Rewind first and current minigame indices to ensure they're in bounds (or at the defaults if empty).
         this.firstTabIndex = Math.max(0, Math.min(this.firstTabIndex, loadedMinigames.size() - 1));
         this.currentMinigameIndex = Math.max(0, Math.min(this.currentMinigameIndex, loadedMinigames.size() - 1));
@@ -348,8 +587,22 @@ public class MinigameDisplayContainer extends Overlay implements IMinigameInputH
 
     @Override
     public MouseWheelEvent mouseWheelMoved(MouseWheelEvent event, Point relativeOffset) {
-        // TODO: In the future, we may want to capture the mouse wheel for zooming in.
-        // But for now, just pass it to the underlying UI.
+        if (relativeOffset == null) {
+            relativeOffset = this.getBounds().getLocation();
+        }
+        if (this.isOverlayShown()) {
+            Point currentLocation = event.getPoint();
+            Point offsetLocation = new Point(currentLocation.x - relativeOffset.x, currentLocation.y - relativeOffset.y);
+            if (overlayContains(offsetLocation)) {
+                // Scrolling over the overlay shouldn't also zoom the game camera.
+                event.consume();
+                RelativeMinigameComponentStruct passThroughCurrent = this.getSubComponentAtPoint(offsetLocation);
+                if (passThroughCurrent.isValid()) {
+                    event = passThroughCurrent.handler.mouseWheelMoved(event, passThroughCurrent.offset);
+                }
+            }
+        }
+
         return event;
     }
 
@@ -405,13 +658,17 @@ public class MinigameDisplayContainer extends Overlay implements IMinigameInputH
             return event;
         }
 
-        // TODO: If we ever decide to do any fancy reordering, this would be the place.
-        // For now, a "drag" is just a fancy mouse movement so that we don't disrupt the UI's graphics.
-        return this.mouseMoved(event, relativeOffset);
+        // Drags are delivered to the component under the mouse, which treats them as movement unless it handles
+        // dragging itself.
+        return this.dispatchMouseMovement(event, relativeOffset, true);
     }
 
     @Override
     public MouseEvent mouseMoved(MouseEvent event, Point relativeOffset) {
+        return this.dispatchMouseMovement(event, relativeOffset, false);
+    }
+
+    private MouseEvent dispatchMouseMovement(MouseEvent event, Point relativeOffset, boolean dragged) {
         if (relativeOffset == null) {
             relativeOffset = this.getBounds().getLocation();
         }
@@ -422,18 +679,23 @@ public class MinigameDisplayContainer extends Overlay implements IMinigameInputH
                 RelativeMinigameComponentStruct passThroughCurrent = this.getSubComponentAtPoint(offsetLocation);
                 RelativeMinigameComponentStruct passThroughPrevious = this.getSubComponentAtPoint(previousRelativePoint);
                 if (passThroughCurrent.isValid()) {
-                    event = passThroughCurrent.handler.mouseMoved(event, passThroughCurrent.offset);
+                    if (dragged) {
+                        event = passThroughCurrent.handler.mouseDragged(event, passThroughCurrent.offset);
+                    } else {
+                        event = passThroughCurrent.handler.mouseMoved(event, passThroughCurrent.offset);
+                    }
                 }
                 if (passThroughPrevious.isValid() && passThroughCurrent.offset != null) {
-                    if (passThroughPrevious.handler == passThroughCurrent.handler) {
-                        event = passThroughPrevious.handler.mouseMoved(event, passThroughCurrent.offset);
-                    }
-                    else {
+                    if (passThroughPrevious.handler != passThroughCurrent.handler) {
                         // If the handlers are different, indicate that we moved away.
                         // The current pass through struct won't help us, because the offset is relative to that component
                         // and we don't have a reference to the previous component or the new offset for the old component.
                         event = passThroughPrevious.handler.mouseMoved(event, new Point(-1, -1));
                     }
+                    else if (!dragged) {
+                        event = passThroughPrevious.handler.mouseMoved(event, passThroughCurrent.offset);
+                    }
+                    // A drag has already been delivered to this handler, and delivering it again would apply it twice.
                 }
                 this.previousRelativePoint = offsetLocation;
             }
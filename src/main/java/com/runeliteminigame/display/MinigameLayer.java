@@ -0,0 +1,15 @@
+package com.runeliteminigame.display;
+
+/**
+ * The independently cached layers that make up the minigame overlay, in the order in which they are composited.
+ */
+public enum MinigameLayer {
+    // The translucent frame drawn behind everything else.
+    FRAME,
+    // The strip of tabs and buttons along the top of the overlay.
+    TOOLBAR,
+    // The main image of the currently selected minigame.
+    GAME,
+    // Anything the selected minigame draws over its own main image, such as a delete confirmation.
+    MODAL
+}
@@ -12,10 +12,8 @@ public class MinigameLeftButton extends BaseMinigameDirectionalButton {
     private static final BufferedImage LEFT_ARROW_IMAGE;
 
     static {
-        LEFT_ARROW_IMAGE = ImageUtils.scaleSquare(
-                ImageUtils.loadOrReturnEmpty("leftarrow.png"),
-                MinigameToolbar.getToolbarHeight() * 3 / 4
-        );
+        // Kept at full resolution; the toolbar scales it to the size of its tiles.
+        LEFT_ARROW_IMAGE = ImageUtils.loadOrReturnEmpty("leftarrow.png");
     }
 
     MinigameLeftButton(MinigameDisplayContainer displayContainer) {
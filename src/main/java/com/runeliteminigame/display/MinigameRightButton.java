@@ -12,10 +12,8 @@ public class MinigameRightButton extends BaseMinigameDirectionalButton {
     private static final BufferedImage RIGHT_ARROW_IMAGE;
 
     static {
-        RIGHT_ARROW_IMAGE = ImageUtils.scaleSquare(
-                ImageUtils.loadOrReturnEmpty("rightarrow.png"),
-                MinigameToolbar.getToolbarHeight() * 3 / 4
-        );
+        // Kept at full resolution; the toolbar scales it to the size of its tiles.
+        RIGHT_ARROW_IMAGE = ImageUtils.loadOrReturnEmpty("rightarrow.png");
     }
 
     MinigameRightButton(MinigameDisplayContainer displayContainer) {
@@ -1,11 +1,12 @@
 package com.runeliteminigame.display;
 
 import com.runeliteminigame.IMinigamePlugin;
+import com.runeliteminigame.util.DrawingScope;
+import com.runeliteminigame.util.ImageAllocator;
 import net.runelite.api.SpriteID;
 
 import javax.swing.SwingUtilities;
 import java.awt.AlphaComposite;
-import java.awt.Graphics2D;
 import java.awt.Point;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
@@ -16,6 +17,9 @@ public class MinigameSettingsButton implements IDisplayableWithIcon, IMinigameIn
 
     // Used (in the future) to tell the display container to render the settings pane.
     private final MinigameDisplayContainer minigameDisplayContainer;
+    // The grayed out icon, kept so that the toolbar can reuse its tile.
+    private BufferedImage dimmedIcon = null;
+    private BufferedImage dimmedIconSource = null;
 
     MinigameSettingsButton(MinigameDisplayContainer minigameDisplayContainer) {
         this.minigameDisplayContainer = minigameDisplayContainer;
@@ -23,14 +27,22 @@ public class MinigameSettingsButton implements IDisplayableWithIcon, IMinigameIn
 
     @Override
     public BufferedImage getIcon(IMinigamePlugin plugin) {
-        BufferedImage sprite = plugin.getSpriteManager().getSprite(SpriteID.TAB_OPTIONS, 0);
+        BufferedImage sprite = plugin.getSprite(SpriteID.TAB_OPTIONS);
         // Temporarily gray out the icon, since settings aren't yet supported (Issue #24).
-        assert sprite != null;
-        BufferedImage output = new BufferedImage(sprite.getWidth(), sprite.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        if (sprite == null) {
+            return null;
+        }
+        if (sprite == this.dimmedIconSource) {
+            return this.dimmedIcon;
+        }
+        BufferedImage output = ImageAllocator.createCompatibleImage(sprite.getWidth(), sprite.getHeight());
         AlphaComposite dimmer = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.2f);
-        Graphics2D graphics = output.createGraphics();
-        graphics.setComposite(dimmer);
-        graphics.drawImage(sprite, 0, 0, null);
+        try (DrawingScope scope = DrawingScope.on(output)) {
+            scope.getGraphics().setComposite(dimmer);
+            scope.getGraphics().drawImage(sprite, 0, 0, null);
+        }
+        this.dimmedIcon = output;
+        this.dimmedIconSource = sprite;
         return output;
     }
 
@@ -1,16 +1,24 @@
 package com.runeliteminigame.display;
 
 import com.runeliteminigame.IMinigamePlugin;
+import com.runeliteminigame.util.DrawingScope;
+import com.runeliteminigame.util.ImageAllocator;
 import com.runeliteminigame.util.ImageUtils;
-import net.runelite.api.SpriteID;
-import net.runelite.client.game.SpriteManager;
+import com.runeliteminigame.util.ScalingQuality;
+import com.runeliteminigame.util.SpriteAtlas;
 
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseWheelEvent;
 import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.WeakHashMap;
 
 public class MinigameToolbar implements IMinigameInputHandler {
 
@@ -19,8 +27,6 @@ public class MinigameToolbar implements IMinigameInputHandler {
     // We have left arrow, right arrow, add new button, settings icon, and room for the close interface icon.
     private static final int MAX_RENDERABLE_TILES = TOTAL_TILES - 5;
 
-    private final SpriteManager spriteManager;
-
     private final IMinigamePlugin plugin;
     private final MinigameDisplayContainer displayContainer;
 
@@ -31,15 +37,37 @@ public class MinigameToolbar implements IMinigameInputHandler {
     private final MinigameAddButton addButton;
 
     private Point previousRelativePoint = new Point(-1, -1);
-    private int hoveredTile;
+    // Written by the input thread, read when drawing highlights.
+    private volatile int hoveredTile;
+    // The scale the strip was last drawn at, and the size of its tiles in pixels. Written when drawing, read by the
+    // input thread to find the tile under the mouse.
+    private volatile double stripScale = 1.0;
+    private volatile int tileSize = TOOLBAR_HEIGHT;
+
+    // Composed tiles for each displayable, reused while its icon, the sprite atlas and the scale stay the same.
+    private final WeakHashMap<IDisplayableWithIcon, CachedTiles> tileCache = new WeakHashMap<>();
+    private final CachedTiles placeholderTiles = new CachedTiles();
+    // The toolbar is kept between redraws; only slots whose tile changed are redrawn into it.
+    private BufferedImage strip = null;
+    // The tile currently drawn in each slot of the strip.
+    private final BufferedImage[] stripTiles = new BufferedImage[TOTAL_TILES];
+    // What each slot of the strip shows, so that its hovered version can be drawn as a highlight.
+    private final IDisplayableWithIcon[] slotDisplayables = new IDisplayableWithIcon[TOTAL_TILES];
+    private final boolean[] slotSelected = new boolean[TOTAL_TILES];
+
+    private static final class CachedTiles {
+        private BufferedImage icon = null;
+        private int atlasGeneration = -1;
+        private double scale = 0;
+        private final EnumMap<SpriteAtlas.Entry, BufferedImage> tilesByBackground = new EnumMap<>(SpriteAtlas.Entry.class);
+    }
 
     public MinigameToolbar(IMinigamePlugin plugin, MinigameDisplayContainer displayContainer) {
         this.displayContainer = displayContainer;
-        this.spriteManager = plugin.getSpriteManager();
         this.plugin = plugin;
         this.leftButton = new MinigameLeftButton(displayContainer);
         this.rightButton = new MinigameRightButton(displayContainer);
-        this.closeButton = new MinigameCloseButton(displayContainer, plugin.getSpriteManager());
+        this.closeButton = new MinigameCloseButton(displayContainer);
         this.settingsButton = new MinigameSettingsButton(displayContainer);
         this.addButton = new MinigameAddButton(displayContainer);
 
@@ -55,102 +83,203 @@ public class MinigameToolbar implements IMinigameInputHandler {
     }
 
     /**
-     * Renders an image of the tile against the background for the specified displayable object.
+     * Returns an image of the tile against the background for the specified displayable object.
+     * Tiles are cached for each selected and hovered combination, and only redrawn when the displayable's icon or
+     * the scale changes. The returned image is shared and must not be modified.
      * @param displayable The object whose tile should be rendered.
      * @param isSelected Whether or not the specified object is currently selected.
      * @param isHovered Whether or not the specified object is currently hovered over.
+     * @param scale The scale the toolbar is drawn at.
+     * @param tileSize The width and height of the tile in pixels at that scale.
      * @return An image with the displayable's icon placed over a background bank tab image.
      */
-    private BufferedImage drawTile(IDisplayableWithIcon displayable, boolean isSelected, boolean isHovered) {
-        if (displayable == null) {
-            return ImageUtils.scaleSquare(
-                    spriteManager.getSprite(SpriteID.BANK_TAB_EMPTY, 0),
-                    TOOLBAR_HEIGHT
-            );
-        }
-        @SuppressWarnings("SuspiciousNameCombination") BufferedImage image = new BufferedImage(TOOLBAR_HEIGHT, TOOLBAR_HEIGHT, BufferedImage.TYPE_INT_ARGB);
-        if (isSelected) {
-            image.getGraphics().drawImage(
-                    ImageUtils.scaleSquare(spriteManager.getSprite(SpriteID.BANK_TAB_SELECTED, 0), TOOLBAR_HEIGHT),
-                    0,
-                    0,
-                    null
-            );
-        } else if (isHovered) {
-            image.getGraphics().drawImage(
-                    ImageUtils.scaleSquare(
-                            spriteManager.getSprite(SpriteID.BANK_TAB_HOVERED, 0),
-                            TOOLBAR_HEIGHT
-                    ),
-                    0,
-                    0,
-                    null
-            );
+    private BufferedImage drawTile(IDisplayableWithIcon displayable, boolean isSelected, boolean isHovered, double scale, int tileSize) {
+        SpriteAtlas.Entry background;
+        if (displayable != null && isSelected) {
+            background = SpriteAtlas.Entry.BANK_TAB_SELECTED;
+        } else if (displayable != null && isHovered) {
+            background = SpriteAtlas.Entry.BANK_TAB_HOVERED;
         } else  {
-            image.getGraphics().drawImage(
-                    ImageUtils.scaleSquare(spriteManager.getSprite(SpriteID.BANK_TAB_EMPTY, 0), TOOLBAR_HEIGHT),
-                    0,
-                    0,
-                    null
-            );
+            background = SpriteAtlas.Entry.BANK_TAB_EMPTY;
         }
-        BufferedImage tile = displayable.getIcon(this.plugin);
-        tile = ImageUtils.scaleSquare(tile, TOOLBAR_HEIGHT * 3 / 4);
-        image.getGraphics().drawImage(tile, TOOLBAR_HEIGHT / 8, TOOLBAR_HEIGHT / 8, null);
-        return image;
+
+        BufferedImage icon = displayable == null ? null : displayable.getIcon(this.plugin);
+        int atlasGeneration = this.plugin.getSpriteAtlas().getGeneration();
+        CachedTiles cached = displayable == null ?
+                this.placeholderTiles :
+                this.tileCache.computeIfAbsent(displayable, key -> new CachedTiles());
+        if (cached.icon != icon || cached.atlasGeneration != atlasGeneration || cached.scale != scale) {
+            cached.tilesByBackground.clear();
+            cached.icon = icon;
+            cached.atlasGeneration = atlasGeneration;
+            cached.scale = scale;
+        }
+
+        BufferedImage tile = cached.tilesByBackground.get(background);
+        if (tile == null) {
+            tile = this.renderTile(background, icon, tileSize);
+            cached.tilesByBackground.put(background, tile);
+        }
+        return tile;
     }
 
-    BufferedImage drawToolbar(List<IDisplayableMinigame> loadedMinigames, int beginRenderAtPosition, int currentlySelectedMinigamePosition) {
+    private BufferedImage renderTile(SpriteAtlas.Entry background, BufferedImage icon, int tileSize) {
+        @SuppressWarnings("SuspiciousNameCombination") BufferedImage image = ImageAllocator.createCompatibleImage(tileSize, tileSize);
+        // Sprites may still be loading; the plugin requests a redraw once they're available.
+        try (DrawingScope scope = DrawingScope.on(image)) {
+            this.plugin.getSpriteAtlas().draw(scope.getGraphics(), background, 0, 0, tileSize, tileSize);
+            if (icon != null) {
+                BufferedImage scaledIcon = ImageUtils.scaleSquare(icon, tileSize * 3 / 4, ScalingQuality.PROGRESSIVE);
+                scope.getGraphics().drawImage(scaledIcon, tileSize / 8, tileSize / 8, null);
+            }
+        }
+        return image;
+    }
 
-        BufferedImage image = new BufferedImage(TOOLBAR_HEIGHT * TOTAL_TILES, TOOLBAR_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+    /**
+     * Draws the toolbar. The toolbar image is kept between calls, and only the tiles that changed since the
+     * previous call are redrawn into it. When the tabs were rotated, the tab tiles are first shifted along by one
+     * slot, so that rotating only draws the tile that came into view.
+     * Hovered tiles are drawn unhovered; the hover is applied on top, see {@link #getHighlight()}.
+     * The toolbar is drawn at the given scale, so it has one pixel per frame pixel. Every tile has the same whole
+     * number of pixels, so any pixels left over by rounding are left empty at the end of the toolbar.
+     * The returned image is reused by the next call and must not be modified.
+     * @param scale The number of frame pixels per toolbar unit.
+     * @return The toolbar, the toolbar's size multiplied by the scale and rounded.
+     */
+    BufferedImage drawToolbar(List<IDisplayableMinigame> loadedMinigames, int beginRenderAtPosition, int currentlySelectedMinigamePosition, double scale) {
 
-        // Draw the left arrow.
-        BufferedImage leftArrow = this.drawTile(leftButton, false, hoveredTile == 0);
-        image.getGraphics().drawImage(leftArrow, 0, 0, null);
+        // Left arrow.
+        this.slotDisplayables[0] = leftButton;
+        this.slotSelected[0] = false;
 
         for (int tilePosition = 0; tilePosition < MAX_RENDERABLE_TILES; tilePosition += 1) {
             // We start at the first tab index, then wrap around the array until we exhaust it OR get all MAX_RENDERABLE_TILES drawn.
-            BufferedImage tile;
             if (tilePosition < loadedMinigames.size()) {
-                IDisplayableMinigame minigame = loadedMinigames.get((tilePosition + beginRenderAtPosition) % loadedMinigames.size());
-                tile = this.drawTile(
-                        minigame,
-                        // We're selected if the selected minigame position in the list is equal to this minigame's overall position.
-                        ((tilePosition + beginRenderAtPosition) % loadedMinigames.size()) == currentlySelectedMinigamePosition,
-                        // We're starting from position 1 in the iteration.
-                        tilePosition + 1 == this.hoveredTile
-                );
+                this.slotDisplayables[tilePosition + 1] = loadedMinigames.get((tilePosition + beginRenderAtPosition) % loadedMinigames.size());
+                // We're selected if the selected minigame position in the list is equal to this minigame's overall position.
+                this.slotSelected[tilePosition + 1] = ((tilePosition + beginRenderAtPosition) % loadedMinigames.size()) == currentlySelectedMinigamePosition;
             }
             else {
                 // Placeholder tiles, in case we have more spaces available than we do tiles to fill spaces with.
-                tile = this.drawTile(null, false, false);
+                this.slotDisplayables[tilePosition + 1] = null;
+                this.slotSelected[tilePosition + 1] = false;
             }
-            image.getGraphics().drawImage(tile, (tilePosition + 1) * TOOLBAR_HEIGHT, 0, null);
         }
 
         int tilePosition = MAX_RENDERABLE_TILES + 1;
-        // Draw the right arrow.
-        BufferedImage rightArrow = this.drawTile(rightButton, false, hoveredTile == tilePosition);
-        image.getGraphics().drawImage(rightArrow, tilePosition * TOOLBAR_HEIGHT, 0, null);
+        // Right arrow, add button, settings and close button.
+        // TODO: Enable the settings button and allow it to be selected.
+        for (IDisplayableWithIcon button : new IDisplayableWithIcon[] {rightButton, addButton, settingsButton, closeButton}) {
+            this.slotDisplayables[tilePosition] = button;
+            this.slotSelected[tilePosition] = false;
+            tilePosition += 1;
+        }
 
-        tilePosition += 1;
-        // Draw add button.
-        BufferedImage addImage = this.drawTile(addButton, false, hoveredTile == tilePosition);
-        image.getGraphics().drawImage(addImage, tilePosition * TOOLBAR_HEIGHT, 0, null);
+        int stripWidth = (int) Math.round(TOOLBAR_HEIGHT * TOTAL_TILES * scale);
+        int stripHeight = (int) Math.round(TOOLBAR_HEIGHT * scale);
+        int tileSize = Math.max(1, Math.min(stripWidth / TOTAL_TILES, stripHeight));
+        if (this.strip == null || this.strip.getWidth() != stripWidth || this.strip.getHeight() != stripHeight) {
+            this.strip = ImageAllocator.createCompatibleImage(stripWidth, stripHeight);
+            Arrays.fill(this.stripTiles, null);
+        }
+        this.stripScale = scale;
+        this.tileSize = tileSize;
 
-        tilePosition += 1;
-        // Draw the settings.
-        // TODO: Enable the settings button and allow it to be selected.
-        BufferedImage settingsImage = this.drawTile(settingsButton, false, hoveredTile == tilePosition);
-        image.getGraphics().drawImage(settingsImage, tilePosition * TOOLBAR_HEIGHT, 0, null);
+        BufferedImage[] tiles = new BufferedImage[TOTAL_TILES];
+        for (int slot = 0; slot < TOTAL_TILES; slot++) {
+            tiles[slot] = this.drawTile(this.slotDisplayables[slot], this.slotSelected[slot], false, scale, tileSize);
+        }
+        return this.updateStrip(tiles, tileSize);
+    }
 
-        tilePosition += 1;
-        // Draw the close button.
+    /**
+     * Returns the hovered version of the hovered tile, to be drawn over the toolbar drawn by
+     * {@link #drawToolbar(List, int, int)}. Must be called on the same thread, after the toolbar has been drawn.
+     * @return The highlight in the pixels of the toolbar image, or null if no tile is hovered or the hovered tile looks the
+     *      same either way.
+     */
+    Highlight getHighlight() {
+        int slot = this.hoveredTile;
         // We never hover over the back tab of the closeButton tile, only over the X.
-        BufferedImage closeImage = this.drawTile(closeButton, false, false);
-        image.getGraphics().drawImage(closeImage, tilePosition * TOOLBAR_HEIGHT, 0, null);
+        if (this.strip == null || slot < 0 || slot >= TOTAL_TILES - 1) {
+            return null;
+        }
+        int tileSize = this.tileSize;
+        BufferedImage hoveredTile = this.drawTile(this.slotDisplayables[slot], this.slotSelected[slot], true, this.stripScale, tileSize);
+        if (hoveredTile == this.stripTiles[slot]) {
+            return null;
+        }
+        return new Highlight(new Rectangle(slot * tileSize, 0, tileSize, tileSize), hoveredTile);
+    }
 
-        return image;
+    private BufferedImage updateStrip(BufferedImage[] tiles, int tileSize) {
+        // Rotating moves every tab tile one slot along, so shift the strip if that lines up more tiles than it breaks.
+        int shift = 0;
+        int bestMatches = this.countTabMatches(tiles, 0);
+        for (int candidate = -1; candidate <= 1; candidate += 2) {
+            int matches = this.countTabMatches(tiles, candidate);
+            if (matches > bestMatches) {
+                bestMatches = matches;
+                shift = candidate;
+            }
+        }
+
+        try (DrawingScope scope = DrawingScope.on(this.strip)) {
+            Graphics2D graphics = scope.getGraphics();
+            if (shift != 0) {
+                // Tab tiles occupy slots 1 through MAX_RENDERABLE_TILES; the slot that comes into view is redrawn below.
+                int firstSource = shift > 0 ? 2 : 1;
+                // Replace the destination pixels rather than blending over them, since the tiles are partially transparent.
+                graphics.setComposite(AlphaComposite.Src);
+                graphics.copyArea(
+                        firstSource * tileSize,
+                        0,
+                        (MAX_RENDERABLE_TILES - 1) * tileSize,
+                        tileSize,
+                        -shift * tileSize,
+                        0
+                );
+                graphics.setComposite(AlphaComposite.SrcOver);
+                if (shift > 0) {
+                    System.arraycopy(this.stripTiles, 2, this.stripTiles, 1, MAX_RENDERABLE_TILES - 1);
+                    this.stripTiles[MAX_RENDERABLE_TILES] = null;
+                } else {
+                    System.arraycopy(this.stripTiles, 1, this.stripTiles, 2, MAX_RENDERABLE_TILES - 1);
+                    this.stripTiles[1] = null;
+                }
+            }
+
+            for (int slot = 0; slot < TOTAL_TILES; slot++) {
+                if (this.stripTiles[slot] == tiles[slot]) {
+                    continue;
+                }
+                // Clear out the previous tile, since the bank tab backgrounds are partially transparent.
+                graphics.setComposite(AlphaComposite.Clear);
+                graphics.fillRect(slot * tileSize, 0, tileSize, tileSize);
+                graphics.setComposite(AlphaComposite.SrcOver);
+                graphics.drawImage(tiles[slot], slot * tileSize, 0, null);
+                this.stripTiles[slot] = tiles[slot];
+            }
+        }
+        return this.strip;
+    }
+
+    /**
+     * Counts the tab slots whose tile would already be in place if the strip were shifted.
+     * @param tiles The tiles that should be displayed.
+     * @param shift The number of slots by which the tab tiles would move to the left.
+     * @return The number of tab slots that would not need to be redrawn.
+     */
+    private int countTabMatches(BufferedImage[] tiles, int shift) {
+        int matches = 0;
+        for (int slot = 1; slot <= MAX_RENDERABLE_TILES; slot++) {
+            int previousSlot = slot + shift;
+            if (previousSlot >= 1 && previousSlot <= MAX_RENDERABLE_TILES && this.stripTiles[previousSlot] == tiles[slot]) {
+                matches++;
+            }
+        }
+        return matches;
     }
 
     @Override
@@ -210,16 +339,16 @@ public class MinigameToolbar implements IMinigameInputHandler {
     @Override
     public MouseEvent mouseMoved(MouseEvent event, Point relativeOffset) {
         if (overlayContains(relativeOffset) || overlayContains(previousRelativePoint)) {
-            if (overlayContains(relativeOffset)) {
-                this.hoveredTile = relativeOffset.x / TOOLBAR_HEIGHT;
-            } else {
-                this.hoveredTile = -1;
+            int newHoveredTile = overlayContains(relativeOffset) ? this.getSlotAt(relativeOffset.x) : -1;
+            if (newHoveredTile != this.hoveredTile) {
+                // Only the highlight depends on the hovered tile; sub-components request their own redraws.
+                this.hoveredTile = newHoveredTile;
+                this.plugin.requestHighlightRedraw();
             }
             RelativeMinigameComponentStruct passThroughCurrent = this.getSubComponentAtPoint(relativeOffset);
             RelativeMinigameComponentStruct passThroughPrevious = this.getSubComponentAtPoint(previousRelativePoint);
             if (passThroughCurrent.isValid()) {
                 event = passThroughCurrent.handler.mouseMoved(event, passThroughCurrent.offset);
-                this.plugin.requestRedraw();
             }
             if (passThroughPrevious.isValid()) {
 
@@ -232,7 +361,6 @@ public class MinigameToolbar implements IMinigameInputHandler {
                     // and we don't have a reference to the previous component or the new offset for the old component.
                     event = passThroughPrevious.handler.mouseMoved(event, new Point(-1, -1));
                 }
-                this.plugin.requestRedraw();
             }
             this.previousRelativePoint = relativeOffset;
         }
@@ -245,11 +373,23 @@ public class MinigameToolbar implements IMinigameInputHandler {
         return this.mouseMoved(event, relativeOffset);
     }
 
+    /**
+     * @param x A position along the toolbar, in toolbar units.
+     * @return The slot of the tile drawn at that position.
+     */
+    private int getSlotAt(int x) {
+        int slot = (int) Math.floor(x * this.stripScale) / this.tileSize;
+        // Pixels left over by rounding at the end of the toolbar belong to the last tile.
+        return Math.min(slot, TOTAL_TILES - 1);
+    }
+
     @Override
     public RelativeMinigameComponentStruct getSubComponentAtPoint(Point relativeOffset) {
         RelativeMinigameComponentStruct result = new RelativeMinigameComponentStruct();
-        int index = relativeOffset.x / TOOLBAR_HEIGHT;
-        result.offset = new Point(relativeOffset.x % TOOLBAR_HEIGHT, relativeOffset.y);
+        int index = this.getSlotAt(relativeOffset.x);
+        // Offsets within a tile stay in toolbar units, measured from where the tile is drawn.
+        int tileStart = (int) Math.round(index * this.tileSize / this.stripScale);
+        result.offset = new Point(relativeOffset.x - tileStart, relativeOffset.y);
         IMinigameInputHandler internalHandler;
         switch (index) {
             case 0:
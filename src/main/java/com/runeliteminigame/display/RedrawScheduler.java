@@ -0,0 +1,43 @@
+package com.runeliteminigame.display;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits how often overlay frames are rebuilt.
+ *
+ * Invalidations are never lost: they accumulate in the {@link LayerCompositor} until the next build is allowed,
+ * at which point they are all picked up by a single build. Between builds, the previous frame keeps being drawn.
+ */
+class RedrawScheduler {
+
+    static final int DEFAULT_MAX_REDRAWS_PER_SECOND = 30;
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private volatile long minimumIntervalNanos = NANOS_PER_SECOND / DEFAULT_MAX_REDRAWS_PER_SECOND;
+    // Only accessed by the render thread.
+    private boolean hasStartedBuild = false;
+    private long lastBuildStartNanos = 0;
+
+    /**
+     * @param maxRedrawsPerSecond The maximum number of frame builds per second. Values below one are treated as one.
+     */
+    void setMaxRedrawsPerSecond(int maxRedrawsPerSecond) {
+        this.minimumIntervalNanos = NANOS_PER_SECOND / Math.max(1, maxRedrawsPerSecond);
+    }
+
+    /**
+     * Checks whether a build may start now, and if so, records that it has. Must only be called from the render
+     * thread.
+     * @param nowNanos The current time, as returned by <code>System.nanoTime()</code>.
+     * @return True if enough time has passed since the previous build for another one to start.
+     */
+    boolean tryStartBuild(long nowNanos) {
+        if (this.hasStartedBuild && nowNanos - this.lastBuildStartNanos < this.minimumIntervalNanos) {
+            return false;
+        }
+        this.hasStartedBuild = true;
+        this.lastBuildStartNanos = nowNanos;
+        return true;
+    }
+}
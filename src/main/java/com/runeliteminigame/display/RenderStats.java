@@ -0,0 +1,149 @@
+package com.runeliteminigame.display;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Timings of the stages of drawing the overlay, and counts of how many redraws were requested and performed.
+ *
+ * Recording a timing only stores a number in a fixed-size window of recent samples, so stages can be timed on
+ * every frame. Percentiles are only computed when a {@link Summary} is requested.
+ */
+public class RenderStats {
+
+    public enum Stage {
+        OVERLAY_RENDER("render"),
+        MAIN_IMAGE("main image"),
+        BOARD_IMAGE("board"),
+        DESCRIPTION_IMAGE("description"),
+        TOOLBAR("toolbar");
+
+        private final String displayName;
+
+        Stage(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return this.displayName;
+        }
+    }
+
+    /**
+     * Percentiles of the recent durations of a stage, in nanoseconds.
+     */
+    public static final class Summary {
+        private final int samples;
+        private final long p50;
+        private final long p99;
+        private final long max;
+
+        private Summary(int samples, long p50, long p99, long max) {
+            this.samples = samples;
+            this.p50 = p50;
+            this.p99 = p99;
+            this.max = max;
+        }
+
+        public int getSamples() {
+            return this.samples;
+        }
+
+        public long getP50() {
+            return this.p50;
+        }
+
+        public long getP99() {
+            return this.p99;
+        }
+
+        public long getMax() {
+            return this.max;
+        }
+    }
+
+    private static final int WINDOW_SIZE = 256;
+
+    private final EnumMap<Stage, SampleWindow> windows = new EnumMap<>(Stage.class);
+    private final AtomicLong redrawsRequested = new AtomicLong();
+    private final AtomicLong redrawsPerformed = new AtomicLong();
+
+    public RenderStats() {
+        for (Stage stage : Stage.values()) {
+            this.windows.put(stage, new SampleWindow());
+        }
+    }
+
+    /**
+     * @return The start time to pass to {@link #record(Stage, long)} once the stage has finished.
+     */
+    public long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Records one run of a stage. Safe to call from any thread.
+     * @param stage The stage that has finished.
+     * @param startNanos The value returned by {@link #start()} when the stage began.
+     */
+    public void record(Stage stage, long startNanos) {
+        this.windows.get(stage).add(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * @param stage The stage to summarize.
+     * @return Percentiles over the most recent runs of the stage.
+     */
+    public Summary getSummary(Stage stage) {
+        return this.windows.get(stage).summarize();
+    }
+
+    void countRedrawRequested() {
+        this.redrawsRequested.incrementAndGet();
+    }
+
+    void countRedrawPerformed() {
+        this.redrawsPerformed.incrementAndGet();
+    }
+
+    public long getRedrawsRequested() {
+        return this.redrawsRequested.get();
+    }
+
+    public long getRedrawsPerformed() {
+        return this.redrawsPerformed.get();
+    }
+
+    /**
+     * A ring buffer of the most recent samples of one stage.
+     */
+    private static final class SampleWindow {
+        private final long[] samples = new long[WINDOW_SIZE];
+        private int next = 0;
+        private int size = 0;
+
+        synchronized void add(long sample) {
+            this.samples[this.next] = sample;
+            this.next = (this.next + 1) % WINDOW_SIZE;
+            this.size = Math.min(this.size + 1, WINDOW_SIZE);
+        }
+
+        Summary summarize() {
+            long[] sorted;
+            synchronized (this) {
+                sorted = Arrays.copyOf(this.samples, this.size);
+            }
+            if (sorted.length == 0) {
+                return new Summary(0, 0, 0, 0);
+            }
+            Arrays.sort(sorted);
+            return new Summary(
+                    sorted.length,
+                    sorted[(sorted.length - 1) * 50 / 100],
+                    sorted[(sorted.length - 1) * 99 / 100],
+                    sorted[sorted.length - 1]
+            );
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.runeliteminigame.display;
+
+import com.runeliteminigame.util.DrawingScope;
+import com.runeliteminigame.util.ImageAllocator;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Keeps a copy of the overlay's final frame in a <code>VolatileImage</code> so it can stay in accelerated memory
+ * between draws.
+ *
+ * The volatile copy is only re-uploaded when the frame changes, when the destination's configuration changes or
+ * when the system reports that its contents were lost. When acceleration isn't available (for example, when
+ * running headless) the frame is drawn from an ordinary image instead.
+ *
+ * Highlight patches replace the frame's pixels: they are copied into the copy, and copied back out of the frame
+ * once they're removed, so a highlight change only touches the highlighted areas.
+ *
+ * Frames are composited at the display's scale, so when the frame's scale matches the destination's transform the
+ * frame is copied one pixel per device pixel rather than being scaled again.
+ */
+class VolatileFrame {
+
+    private VolatileImage volatileImage = null;
+    private long uploadedVersion = -1;
+    private List<LayerCompositor.Patch> appliedPatches = Collections.emptyList();
+    // Used instead of the volatile copy when acceleration isn't available, and only while there are patches to apply.
+    private BufferedImage patchedImage = null;
+    private long patchedVersion = -1;
+    private List<LayerCompositor.Patch> patchedImagePatches = Collections.emptyList();
+
+    /**
+     * Draws the frame with its highlight patches, re-uploading it to the volatile copy if needed.
+     * @param graphics The graphics object to draw on.
+     * @param frame The current frame.
+     * @param x The x position at which to draw the frame, in the graphics object's coordinates.
+     * @param y The y position at which to draw the frame, in the graphics object's coordinates.
+     */
+    void draw(Graphics2D graphics, FrameBuilder.Frame frame, int x, int y) {
+        AffineTransform original = graphics.getTransform();
+        graphics.setTransform(getFrameTransform(original, frame.scale, x, y));
+        try {
+            this.drawAtOrigin(graphics, frame);
+        } finally {
+            graphics.setTransform(original);
+        }
+    }
+
+    /**
+     * Returns the transform that maps frame pixels to device pixels. Its origin is snapped to a whole device pixel,
+     * so when the frame's scale equals the device scale it is a plain translation.
+     */
+    private static AffineTransform getFrameTransform(AffineTransform deviceTransform, double frameScale, int x, int y) {
+        Point2D origin = deviceTransform.transform(new Point2D.Double(x, y), null);
+        AffineTransform transform = AffineTransform.getTranslateInstance(Math.round(origin.getX()), Math.round(origin.getY()));
+        double scaleX = deviceTransform.getScaleX() / frameScale;
+        double scaleY = deviceTransform.getScaleY() / frameScale;
+        if (scaleX != 1.0 || scaleY != 1.0) {
+            // The scale changed and a frame at the new scale hasn't been built yet.
+            transform.scale(scaleX, scaleY);
+        }
+        return transform;
+    }
+
+    private void drawAtOrigin(Graphics2D graphics, FrameBuilder.Frame frame) {
+        GraphicsConfiguration configuration = graphics.getDeviceConfiguration();
+        if (!ImageAllocator.isAccelerationAvailable() || configuration == null) {
+            graphics.drawImage(this.getPatchedImage(frame), 0, 0, null);
+            return;
+        }
+
+        do {
+            if (
+                    this.volatileImage == null ||
+                    this.volatileImage.getWidth() != frame.image.getWidth() ||
+                    this.volatileImage.getHeight() != frame.image.getHeight()
+            ) {
+                this.recreate(configuration, frame.image);
+            }
+
+            int status = this.volatileImage.validate(configuration);
+            if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                this.recreate(configuration, frame.image);
+            } else if (status == VolatileImage.IMAGE_RESTORED) {
+                // The surface survived but its contents didn't.
+                this.uploadedVersion = -1;
+            }
+
+            if (this.uploadedVersion != frame.version) {
+                this.upload(frame.image);
+                this.uploadedVersion = frame.version;
+                this.appliedPatches = Collections.emptyList();
+            }
+            if (this.appliedPatches != frame.patches) {
+                try (DrawingScope scope = DrawingScope.on(this.volatileImage)) {
+                    applyPatches(scope.getGraphics(), frame, this.appliedPatches);
+                }
+                this.appliedPatches = frame.patches;
+            }
+
+            graphics.drawImage(this.volatileImage, 0, 0, null);
+        } while (this.volatileImage.contentsLost());
+    }
+
+    /**
+     * Releases the volatile copy. It is recreated on the next draw.
+     */
+    void flush() {
+        if (this.volatileImage != null) {
+            this.volatileImage.flush();
+            this.volatileImage = null;
+        }
+        this.uploadedVersion = -1;
+        this.appliedPatches = Collections.emptyList();
+    }
+
+    private void recreate(GraphicsConfiguration configuration, BufferedImage frame) {
+        this.flush();
+        this.volatileImage = configuration.createCompatibleVolatileImage(
+                frame.getWidth(),
+                frame.getHeight(),
+                Transparency.TRANSLUCENT
+        );
+    }
+
+    private void upload(BufferedImage frame) {
+        try (DrawingScope scope = DrawingScope.on(this.volatileImage)) {
+            scope.getGraphics().setComposite(AlphaComposite.Src);
+            scope.getGraphics().drawImage(frame, 0, 0, null);
+        }
+    }
+
+    /**
+     * Returns the frame with its patches copied in, in an ordinary image. Each patch already contains every layer
+     * of the frame under it, so it has to replace those pixels rather than be blended over them.
+     */
+    private BufferedImage getPatchedImage(FrameBuilder.Frame frame) {
+        if (frame.patches.isEmpty()) {
+            this.patchedImagePatches = Collections.emptyList();
+            this.patchedVersion = -1;
+            return frame.image;
+        }
+        if (
+                this.patchedImage == null ||
+                this.patchedImage.getWidth() != frame.image.getWidth() ||
+                this.patchedImage.getHeight() != frame.image.getHeight()
+        ) {
+            this.patchedImage = ImageAllocator.createCompatibleImage(frame.image.getWidth(), frame.image.getHeight());
+            this.patchedVersion = -1;
+        }
+        try (DrawingScope scope = DrawingScope.on(this.patchedImage)) {
+            scope.getGraphics().setComposite(AlphaComposite.Src);
+            if (this.patchedVersion != frame.version) {
+                scope.getGraphics().drawImage(frame.image, 0, 0, null);
+                this.patchedVersion = frame.version;
+                this.patchedImagePatches = Collections.emptyList();
+            }
+            if (this.patchedImagePatches != frame.patches) {
+                applyPatches(scope.getGraphics(), frame, this.patchedImagePatches);
+                this.patchedImagePatches = frame.patches;
+            }
+        }
+        return this.patchedImage;
+    }
+
+    /**
+     * Puts back the frame's own pixels where the previous patches were, then copies in the frame's patches.
+     * @param graphics The graphics of the copy of the frame to patch.
+     * @param frame The frame, whose patches are to be applied.
+     * @param appliedPatches The patches currently in the copy.
+     */
+    private static void applyPatches(Graphics2D graphics, FrameBuilder.Frame frame, List<LayerCompositor.Patch> appliedPatches) {
+        graphics.setComposite(AlphaComposite.Src);
+        for (LayerCompositor.Patch patch : appliedPatches) {
+            int right = patch.x + patch.image.getWidth();
+            int bottom = patch.y + patch.image.getHeight();
+            graphics.drawImage(frame.image, patch.x, patch.y, right, bottom, patch.x, patch.y, right, bottom, null);
+        }
+        for (LayerCompositor.Patch patch : frame.patches) {
+            graphics.drawImage(patch.image, patch.x, patch.y, null);
+        }
+    }
+}
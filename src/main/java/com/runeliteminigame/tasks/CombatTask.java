@@ -2,39 +2,61 @@ package com.runeliteminigame.tasks;
 
 import com.runeliteminigame.IMinigamePlugin;
 import com.runeliteminigame.pluginlisteners.ICombatListener;
-import com.runeliteminigame.util.CommonImages;
+import com.runeliteminigame.util.DrawingScope;
+import com.runeliteminigame.util.ImageAllocator;
 import com.runeliteminigame.util.ImageUtils;
+import com.runeliteminigame.util.ScalingQuality;
+import com.runeliteminigame.util.SpriteAtlas;
 import net.runelite.api.NPC;
 import net.runelite.api.SpriteID;
 import net.runelite.client.ui.FontManager;
 import net.runelite.client.ui.overlay.components.BackgroundComponent;
 import net.runelite.client.ui.overlay.components.TextComponent;
+import net.runelite.client.util.AsyncBufferedImage;
 
 import java.awt.Dimension;
+import java.awt.Graphics2D;
 import java.awt.Point;
 import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
 import java.util.Dictionary;
+import java.util.HashMap;
 import java.util.Hashtable;
-
-import static java.awt.image.BufferedImage.TYPE_INT_ARGB;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class CombatTask implements IRunescapeTask, ICombatListener {
 
     public static final String COMBAT_MINI_GAME_TASK = "combat";
 
     private static final float DEFAULT_MIN_FRACTION_DAMAGE = 0.5f;
+    // Enough for every level of the board's mip chain; sizes left behind by resizing the board are dropped past it.
+    private static final int MAX_CACHED_IMAGE_SIZES = 16;
 
     private final CombatTaskElement target;
     private final int amount;
-    private int progress;
+    // Written on the client thread when kills are delivered, and read while frames are built on another thread.
+    private volatile int progress;
 
     private BufferedImage targetImage;
     private BufferedImage taskIndicatorImage;
     private final BackgroundComponent backgroundComponent;
 
     private final float minFractionDamage;
+    private final IMinigamePlugin plugin;
+    // The plugin is unsubscribed from once the task is completed, after which this is null.
     private IMinigamePlugin pluginSubscribedTo;
+    private final CopyOnWriteArrayList<ITaskListener> taskListeners = new CopyOnWriteArrayList<>();
+
+    // The rendered tile at each size it has been requested at, reused until anything drawn on it changes. The board
+    // asks for several sizes, one per level of its mip chain. Only accessed while building frames.
+    private final HashMap<Dimension, BufferedImage> cachedImages = new HashMap<>();
+    private int cachedImageVersion = -1;
+    private int cachedImageAtlasGeneration = -1;
+    // Incremented whenever the content of the tile changes: progress, or an image finishing loading.
+    private final AtomicInteger imageVersion = new AtomicInteger();
+    // Incremented once the target image has finished loading, so scaled copies of the blank image aren't reused.
+    private final AtomicInteger targetImageVersion = new AtomicInteger();
 
     public CombatTask(String targetName, int quantity, IMinigamePlugin plugin) {
         this(targetName, quantity, plugin, DEFAULT_MIN_FRACTION_DAMAGE);
@@ -45,6 +67,7 @@ public class CombatTask implements IRunescapeTask, ICombatListener {
         this.progress = 0;
         this.target = CombatTaskElement.TASK_FROM_ID.get(targetName);
         this.minFractionDamage = minFractionDamage;
+        this.plugin = plugin;
         this.pluginSubscribedTo = plugin;
         this.backgroundComponent = new BackgroundComponent();
         backgroundComponent.setFill(false);
@@ -52,7 +75,7 @@ public class CombatTask implements IRunescapeTask, ICombatListener {
     }
 
     private void requestRedraw() {
-        this.pluginSubscribedTo.requestRedraw();
+        this.plugin.requestRedraw();
     }
 
     public void onPlayerKilledNPC(NPC killed, int damageDealt) {
@@ -64,82 +87,173 @@ public class CombatTask implements IRunescapeTask, ICombatListener {
                 (float)damageDealt / this.target.getTotalHealth() >= this.minFractionDamage
         ) {
             ++this.progress;
+            this.imageVersion.incrementAndGet();
+            for (ITaskListener listener : this.taskListeners) {
+                listener.onTaskProgressed(this);
+            }
+            if (this.isCompleted()) {
+                // The plugin is still delivering this kill; removing ourselves here is allowed by
+                // IMinigamePlugin#removePlayerKilledNPCListener.
+                this.unsubscribe();
+                TaskCompletedEvent event = new TaskCompletedEvent(this, System.currentTimeMillis());
+                for (ITaskListener listener : this.taskListeners) {
+                    listener.onTaskCompleted(event);
+                }
+            }
             this.requestRedraw();
         }
     }
 
+    /**
+     * Stops listening for kills, once no more progress can be made.
+     */
+    private void unsubscribe() {
+        if (this.pluginSubscribedTo != null) {
+            this.pluginSubscribedTo.removePlayerKilledNPCListener(this);
+            this.pluginSubscribedTo = null;
+        }
+    }
+
+    @Override
+    public void addTaskListener(ITaskListener listener) {
+        this.taskListeners.add(listener);
+    }
+
+    @Override
+    public void removeTaskListener(ITaskListener listener) {
+        this.taskListeners.remove(listener);
+    }
+
+    /**
+     * Returns the tile for this task. Tiles are kept for every size they have been drawn at, and only redrawn when
+     * the progress or one of the images changes; otherwise the previous tile is returned, so it must not be
+     * modified.
+     */
     @Override
     public BufferedImage getImage(IMinigamePlugin plugin, Dimension requestedDimension) {
         if (requestedDimension == null) {
             requestedDimension = new Dimension(64, 64);
         }
+        this.loadImages(plugin);
+
+        // Read the version before drawing, so a change that happens mid-draw causes another redraw next time.
+        int version = this.imageVersion.get();
+        int atlasGeneration = plugin.getSpriteAtlas().getGeneration();
+        if (this.cachedImageVersion != version || this.cachedImageAtlasGeneration != atlasGeneration) {
+            this.cachedImages.clear();
+            this.cachedImageVersion = version;
+            this.cachedImageAtlasGeneration = atlasGeneration;
+        }
+        BufferedImage image = this.cachedImages.get(requestedDimension);
+        if (image == null) {
+            if (this.cachedImages.size() >= MAX_CACHED_IMAGE_SIZES) {
+                this.cachedImages.clear();
+            }
+            image = this.drawImage(plugin, requestedDimension);
+            // Copied, since Dimension is mutable and belongs to the caller.
+            this.cachedImages.put(new Dimension(requestedDimension), image);
+        }
+        return image;
+    }
+
+    private void loadImages(IMinigamePlugin plugin) {
         if (this.targetImage == null) {
-            this.targetImage = this.target.getImage(plugin.getItemManager());
+            BufferedImage image = this.target.getImage(plugin.getItemManager());
+            if (image instanceof AsyncBufferedImage) {
+                // Item images start out blank and are filled in once they're loaded.
+                ((AsyncBufferedImage) image).onLoaded(() -> {
+                    this.targetImageVersion.incrementAndGet();
+                    this.imageVersion.incrementAndGet();
+                    for (ITaskListener listener : this.taskListeners) {
+                        listener.onTaskImageChanged(this);
+                    }
+                    plugin.requestRedraw();
+                });
+            }
+            this.targetImage = image;
         }
-        if (this.taskIndicatorImage == null ) {
+        if (this.taskIndicatorImage == null) {
             // Get combat overlay image.
-            this.taskIndicatorImage = plugin.getSpriteManager().getSprite(SpriteID.TAB_COMBAT, 0);
+            this.taskIndicatorImage = plugin.getSprite(SpriteID.TAB_COMBAT);
+            if (this.taskIndicatorImage != null) {
+                this.imageVersion.incrementAndGet();
+            }
         }
+    }
 
+    private BufferedImage drawImage(IMinigamePlugin plugin, Dimension requestedDimension) {
         // The output image will be larger than the target image; the target will be 3/4 of the size.
         Dimension targetImageDimension = new Dimension(requestedDimension.width * 3 / 4, requestedDimension.height * 3 / 4);
-        BufferedImage coreImage = new BufferedImage(targetImageDimension.width, targetImageDimension.height, TYPE_INT_ARGB);
-        coreImage.getGraphics().drawImage(
-                ImageUtils.scale(this.targetImage, coreImage.getWidth(), coreImage.getHeight()),
-                0,
-                0,
-                null
-        );
-        coreImage.getGraphics().drawImage(
-                ImageUtils.scale(this.taskIndicatorImage, coreImage.getWidth() / 2, coreImage.getHeight() / 2),
-                0,
-                0,
-                null
-        );
+        BufferedImage outputImage = ImageAllocator.createCompatibleImage(requestedDimension.width, requestedDimension.height);
 
-        if (isCompleted()) {
-            BufferedImage completedImage = ImageUtils.scale(CommonImages.getTaskCompleteImage(), coreImage.getWidth(), coreImage.getHeight());
-            coreImage.getGraphics().drawImage(completedImage, 0, 0, null);
-        } else {
-            // Add image for the quantity.
-            String amountLeftText = String.valueOf(this.amount - this.progress);
-            TextComponent amountLeft = new TextComponent();
-            amountLeft.setFont(FontManager.getRunescapeFont());
-            amountLeft.setText(amountLeftText);
-
-            // Location is bottom-right corner.
-            Point startCoordinates = ImageUtils.bottomRightAlignedPoints(amountLeftText, coreImage, FontManager.getRunescapeFont());
-
-            if (startCoordinates.x >= 0 && startCoordinates.y >= 0) {
-                // Don't draw if the start y or x are invalid - just return the original.
-                amountLeft.setPosition(startCoordinates);
-                amountLeft.render(coreImage.createGraphics());
+        // The core image is only needed until it has been drawn onto the output, so it comes from the surface pool.
+        try (
+                DrawingScope core = DrawingScope.scratch(targetImageDimension.width, targetImageDimension.height);
+                DrawingScope output = DrawingScope.on(outputImage)
+        ) {
+            BufferedImage coreImage = core.getImage();
+            Graphics2D coreGraphics = core.getGraphics();
+            coreGraphics.drawImage(
+                    ImageUtils.scale(
+                            this.targetImage,
+                            this.targetImageVersion.get(),
+                            coreImage.getWidth(),
+                            coreImage.getHeight(),
+                            ScalingQuality.BILINEAR
+                    ),
+                    0,
+                    0,
+                    null
+            );
+            if (this.taskIndicatorImage != null) {
+                coreGraphics.drawImage(
+                        ImageUtils.scale(this.taskIndicatorImage, coreImage.getWidth() / 2, coreImage.getHeight() / 2, ScalingQuality.BILINEAR),
+                        0,
+                        0,
+                        null
+                );
             }
 
-        }
+            if (isCompleted()) {
+                plugin.getSpriteAtlas().draw(
+                        coreGraphics,
+                        SpriteAtlas.Entry.TASK_COMPLETE,
+                        0,
+                        0,
+                        coreImage.getWidth(),
+                        coreImage.getHeight()
+                );
+            } else {
+                // Add image for the quantity.
+                String amountLeftText = String.valueOf(this.amount - this.progress);
+                TextComponent amountLeft = new TextComponent();
+                amountLeft.setFont(FontManager.getRunescapeFont());
+                amountLeft.setText(amountLeftText);
+
+                // Location is bottom-right corner.
+                Point startCoordinates = ImageUtils.bottomRightAlignedPoints(amountLeftText, coreImage, FontManager.getRunescapeFont());
 
-        // Now, put the background image in and then render the core image on top.
-        BufferedImage outputImage = new BufferedImage(requestedDimension.width, requestedDimension.height, TYPE_INT_ARGB);
+                if (startCoordinates.x >= 0 && startCoordinates.y >= 0) {
+                    // Don't draw if the start y or x are invalid - just return the original.
+                    amountLeft.setPosition(startCoordinates);
+                    amountLeft.render(coreGraphics);
+                }
+
+            }
 
-        backgroundComponent.setRectangle(new Rectangle(0, 0, outputImage.getWidth(), outputImage.getHeight()));
-        backgroundComponent.render(outputImage.createGraphics());
+            // Now, put the background image in and then render the core image on top.
+            backgroundComponent.setRectangle(new Rectangle(0, 0, outputImage.getWidth(), outputImage.getHeight()));
+            backgroundComponent.render(output.getGraphics());
 
-        outputImage.getGraphics().drawImage(coreImage, outputImage.getWidth() / 8, outputImage.getHeight() / 8, null);
+            output.getGraphics().drawImage(coreImage, outputImage.getWidth() / 8, outputImage.getHeight() / 8, null);
+        }
 
         return outputImage;
     }
 
     @Override
     public boolean isCompleted() {
-        boolean completed = amount == progress;
-        if (completed && pluginSubscribedTo != null) {
-            // Completely disassociate from the listener.
-            pluginSubscribedTo.removePlayerKilledNPCListener(this);
-            // Final redraw at total completion.
-            this.requestRedraw();
-            pluginSubscribedTo = null;
-        }
-        return completed;
+        return this.progress >= this.amount;
     }
 
     @Override
@@ -168,6 +282,10 @@ public class CombatTask implements IRunescapeTask, ICombatListener {
         assert serialized.get(TASK_TYPE).equals(COMBAT_MINI_GAME_TASK);
         CombatTask task = new CombatTask((String)serialized.get("targetName"), (int)serialized.get("amount"), plugin);
         task.progress = (int)serialized.get("progress");
+        if (task.isCompleted()) {
+            // Completed before it was saved, so there's nothing left to listen for.
+            task.unsubscribe();
+        }
         return task;
     }
 }
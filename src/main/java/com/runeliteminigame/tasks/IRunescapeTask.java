@@ -10,9 +10,16 @@ public interface IRunescapeTask {
 
     String TASK_TYPE = "taskType";
 
+    /**
+     * @return Whether the task is completed. Has no side effects, so it is safe to call while drawing. Listeners are
+     *      told when the task becomes completed through {@link ITaskListener#onTaskCompleted(TaskCompletedEvent)}.
+     */
     boolean isCompleted();
     BufferedImage getImage(IMinigamePlugin plugin, Dimension requestedDimension);
     String getDescriptionText();
     Dictionary<String, Object> serializedTask();
 
+    void addTaskListener(ITaskListener listener);
+    void removeTaskListener(ITaskListener listener);
+
 }
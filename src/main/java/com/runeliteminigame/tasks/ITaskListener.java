@@ -0,0 +1,14 @@
+package com.runeliteminigame.tasks;
+
+public interface ITaskListener {
+
+    void onTaskProgressed(IRunescapeTask task);
+
+    void onTaskImageChanged(IRunescapeTask task);
+
+    /**
+     * Called once, after the progress that completed the task has been reported through
+     * {@link #onTaskProgressed(IRunescapeTask)}.
+     */
+    void onTaskCompleted(TaskCompletedEvent event);
+}
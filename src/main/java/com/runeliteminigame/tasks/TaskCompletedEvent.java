@@ -0,0 +1,27 @@
+package com.runeliteminigame.tasks;
+
+/**
+ * Published to a task's {@link ITaskListener}s exactly once, at the moment the task becomes completed. Tasks that
+ * were already completed when they were loaded don't publish one.
+ */
+public final class TaskCompletedEvent {
+
+    private final IRunescapeTask task;
+    private final long completedAtMillis;
+
+    public TaskCompletedEvent(IRunescapeTask task, long completedAtMillis) {
+        this.task = task;
+        this.completedAtMillis = completedAtMillis;
+    }
+
+    public IRunescapeTask getTask() {
+        return this.task;
+    }
+
+    /**
+     * @return When the task was completed, as returned by <code>System.currentTimeMillis()</code>.
+     */
+    public long getCompletedAtMillis() {
+        return this.completedAtMillis;
+    }
+}
@@ -4,7 +4,6 @@ import com.runeliteminigame.tasks.CombatTask;
 
 import javax.imageio.ImageIO;
 import java.awt.Color;
-import java.awt.Graphics;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.net.URL;
@@ -21,9 +20,10 @@ public class CommonImages {
         URL taskCompleteURL = CombatTask.class.getClassLoader().getResource("checkmark.png");
 
         BufferedImage backupImage = new BufferedImage(1, 1, TYPE_INT_ARGB);
-        Graphics g = backupImage.getGraphics();
-        g.setColor(Color.GREEN);
-        g.drawRect(0, 0, 1, 1);
+        try (DrawingScope scope = DrawingScope.on(backupImage)) {
+            scope.getGraphics().setColor(Color.GREEN);
+            scope.getGraphics().drawRect(0, 0, 1, 1);
+        }
 
         if (taskCompleteURL == null) {
             completionImage = backupImage;
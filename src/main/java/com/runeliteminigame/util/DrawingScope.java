@@ -0,0 +1,106 @@
+package com.runeliteminigame.util;
+
+import java.awt.AlphaComposite;
+import java.awt.Composite;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+
+/**
+ * A single <code>Graphics2D</code> opened on an image, for use with try-with-resources:
+ * <pre>
+ * try (DrawingScope scope = DrawingScope.on(image)) {
+ *     scope.getGraphics().drawImage(...);
+ * }
+ * </pre>
+ * All drawing onto the image within the scope should go through {@link #getGraphics()}, rather than opening a new
+ * context per call. Closing the scope disposes of the context and, for scratch surfaces, returns the image to the
+ * shared {@link SurfacePool}.
+ */
+public final class DrawingScope implements AutoCloseable {
+
+    // Null when drawing onto a volatile image.
+    private final BufferedImage image;
+    private final Graphics2D graphics;
+    private final int width;
+    private final int height;
+    private final SurfacePool pool;
+
+    private DrawingScope(BufferedImage image, Graphics2D graphics, int width, int height, SurfacePool pool) {
+        this.image = image;
+        this.graphics = graphics;
+        this.width = width;
+        this.height = height;
+        this.pool = pool;
+    }
+
+    /**
+     * @param image The image to draw onto. It still belongs to the caller after the scope is closed.
+     * @return A scope drawing onto the image.
+     */
+    public static DrawingScope on(BufferedImage image) {
+        return new DrawingScope(image, image.createGraphics(), image.getWidth(), image.getHeight(), null);
+    }
+
+    /**
+     * @param image The accelerated image to draw onto. It still belongs to the caller after the scope is closed.
+     * @return A scope drawing onto the image. {@link #getImage()} returns null for this scope.
+     */
+    public static DrawingScope on(VolatileImage image) {
+        return new DrawingScope(null, image.createGraphics(), image.getWidth(), image.getHeight(), null);
+    }
+
+    /**
+     * Opens a scope on a transparent scratch surface from the shared pool. The surface is returned to the pool when
+     * the scope is closed, so it must not be kept or drawn from afterwards.
+     * @param width The width of the surface.
+     * @param height The height of the surface.
+     * @return A scope drawing onto a fully transparent surface with the requested size.
+     */
+    public static DrawingScope scratch(int width, int height) {
+        return DrawingScope.scratch(width, height, Transparency.TRANSLUCENT);
+    }
+
+    /**
+     * Opens a scope on a scratch surface from the shared pool, as {@link #scratch(int, int)}.
+     * @param width The width of the surface.
+     * @param height The height of the surface.
+     * @param transparency One of the <code>Transparency</code> constants.
+     * @return A scope drawing onto a cleared surface with the requested size.
+     */
+    public static DrawingScope scratch(int width, int height, int transparency) {
+        SurfacePool pool = ImageAllocator.getSurfacePool();
+        BufferedImage image = pool.acquire(width, height, transparency);
+        return new DrawingScope(image, image.createGraphics(), width, height, pool);
+    }
+
+    /**
+     * @return The image being drawn onto, or null if it is a <code>VolatileImage</code>.
+     */
+    public BufferedImage getImage() {
+        return this.image;
+    }
+
+    public Graphics2D getGraphics() {
+        return this.graphics;
+    }
+
+    /**
+     * Makes the whole image fully transparent, so that it can be redrawn from scratch.
+     */
+    public void clear() {
+        Composite composite = this.graphics.getComposite();
+        this.graphics.setComposite(AlphaComposite.Clear);
+        this.graphics.fillRect(0, 0, this.width, this.height);
+        this.graphics.setComposite(composite);
+    }
+
+    @Override
+    public void close() {
+        this.graphics.dispose();
+        if (this.pool != null) {
+            this.pool.release(this.image);
+        }
+    }
+}
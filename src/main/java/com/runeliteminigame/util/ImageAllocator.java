@@ -0,0 +1,82 @@
+package com.runeliteminigame.util;
+
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.HeadlessException;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * Class containing static methods for allocating images in the screen's native pixel format.
+ * Images in the native format can be drawn to the screen without a per-draw format conversion.
+ * When no display is available (for example, when running headless tests), plain ARGB images are created instead.
+ */
+public class ImageAllocator {
+
+    private static final boolean HEADLESS = GraphicsEnvironment.isHeadless();
+    private static volatile GraphicsConfiguration screenConfiguration = null;
+    private static final SurfacePool SURFACE_POOL = new SurfacePool();
+
+    /**
+     * Creates a translucent image in the screen's native pixel format.
+     * @param width The width of the image.
+     * @param height The height of the image.
+     * @return A new, fully transparent image with the requested size.
+     */
+    public static BufferedImage createCompatibleImage(int width, int height) {
+        return createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+    }
+
+    /**
+     * Creates an image in the screen's native pixel format.
+     * @param width The width of the image.
+     * @param height The height of the image.
+     * @param transparency One of the <code>Transparency</code> constants, describing which alpha values the image
+     *                     needs to be able to hold.
+     * @return A new image with the requested size. Translucent and bitmask images start fully transparent.
+     */
+    public static BufferedImage createCompatibleImage(int width, int height, int transparency) {
+        GraphicsConfiguration configuration = getScreenConfiguration();
+        if (configuration == null) {
+            return new BufferedImage(
+                    width,
+                    height,
+                    transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB
+            );
+        }
+        return configuration.createCompatibleImage(width, height, transparency);
+    }
+
+    /**
+     * @return The pool shared by all short-lived drawing surfaces.
+     */
+    public static SurfacePool getSurfacePool() {
+        return SURFACE_POOL;
+    }
+
+    /**
+     * @return Whether images can be created in a native screen format. If false, all images are plain
+     *      <code>BufferedImage</code>s and no accelerated surfaces should be used.
+     */
+    public static boolean isAccelerationAvailable() {
+        return getScreenConfiguration() != null;
+    }
+
+    private static GraphicsConfiguration getScreenConfiguration() {
+        if (HEADLESS) {
+            return null;
+        }
+        GraphicsConfiguration configuration = screenConfiguration;
+        if (configuration == null) {
+            try {
+                configuration = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                        .getDefaultScreenDevice()
+                        .getDefaultConfiguration();
+            } catch (HeadlessException e) {
+                return null;
+            }
+            screenConfiguration = configuration;
+        }
+        return configuration;
+    }
+}
@@ -2,6 +2,7 @@ package com.runeliteminigame.util;
 
 import com.runeliteminigame.tasks.CombatTask;
 import net.runelite.client.ui.FontManager;
+import net.runelite.client.util.AsyncBufferedImage;
 
 import javax.imageio.ImageIO;
 import java.awt.Font;
@@ -23,20 +24,213 @@ public class ImageUtils {
 
     private static final BufferedImage EMPTY_IMAGE = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
 
+    // Large enough to hold every tile, icon and background of a couple of boards at their usual sizes.
+    private static final long SCALE_CACHE_BYTE_BUDGET = 16L * 1024 * 1024;
+    private static final ScaledImageCache SCALE_CACHE = new ScaledImageCache(SCALE_CACHE_BYTE_BUDGET);
+    // Descriptions of every tile on a couple of boards, plus prompts.
+    private static final int TEXT_LAYOUT_CACHE_ENTRIES = 64;
+    private static final TextLayoutCache TEXT_LAYOUT_CACHE = new TextLayoutCache(TEXT_LAYOUT_CACHE_ENTRIES);
+
     /**
      * Scales the provided image, using a Bilinear affine transformation, to the target width and height.
      * No aspect ratio preservation is performed.
+     * Results are cached by source image identity and target size, so the returned image may be shared with other
+     * callers and must not be modified. Likewise, <code>original</code> must not be modified after being scaled.
      * @param original The original image which should be scaled.
      * @param newWidth The target width of the output image.
      * @param newHeight The target height of the output image.
-     * @return A new <code>BufferedImage</code> whose content is similar to <code>original</code>, scaled to the
+     * @return A <code>BufferedImage</code> whose content is similar to <code>original</code>, scaled to the
      *      new height and width.
      */
     public static BufferedImage scale(BufferedImage original, int newWidth, int newHeight) {
+        return ImageUtils.scale(original, newWidth, newHeight, ScalingQuality.BILINEAR);
+    }
+
+    /**
+     * Scales the provided image to the target width and height, with the selected speed/quality tradeoff.
+     * No aspect ratio preservation is performed.
+     * If the image already has the target size, it is returned as-is, without copying. Otherwise, results are
+     * cached by source image identity, target size and quality. Either way, the returned image may be shared
+     * with other callers and must not be modified. Likewise, <code>original</code> must not be modified after
+     * being scaled; images whose content changes, such as item images that are still loading, must be scaled
+     * with {@link #scale(BufferedImage, int, int, int, ScalingQuality)} instead.
+     * @param original The original image which should be scaled.
+     * @param newWidth The target width of the output image.
+     * @param newHeight The target height of the output image.
+     * @param quality The scaling algorithm to use.
+     * @return A <code>BufferedImage</code> whose content is similar to <code>original</code>, scaled to the
+     *      new height and width.
+     * @throws IllegalArgumentException If <code>original</code> is an <code>AsyncBufferedImage</code>, which is
+     *      filled in after it's returned.
+     */
+    public static BufferedImage scale(BufferedImage original, int newWidth, int newHeight, ScalingQuality quality) {
+        if (original instanceof AsyncBufferedImage) {
+            throw new IllegalArgumentException("Images that are loaded asynchronously must be scaled with a content version");
+        }
+        return ImageUtils.scale(original, 0, newWidth, newHeight, quality);
+    }
+
+    /**
+     * Scales an image whose content may change, with the selected speed/quality tradeoff. Results are cached by
+     * source image identity, content version, target size and quality, so a copy scaled from an earlier version
+     * of the content is never returned. Otherwise behaves like
+     * {@link #scale(BufferedImage, int, int, ScalingQuality)}.
+     * @param original The original image which should be scaled.
+     * @param version The version of the content of <code>original</code>. The caller must change it whenever the
+     *                content changes, for example once an item image has finished loading.
+     * @param newWidth The target width of the output image.
+     * @param newHeight The target height of the output image.
+     * @param quality The scaling algorithm to use.
+     * @return A <code>BufferedImage</code> whose content is similar to <code>original</code>, scaled to the
+     *      new height and width.
+     */
+    public static BufferedImage scale(BufferedImage original, int version, int newWidth, int newHeight, ScalingQuality quality) {
+        if (original.getWidth() == newWidth && original.getHeight() == newHeight) {
+            return original;
+        }
+        return SCALE_CACHE.getOrScale(original, version, newWidth, newHeight, quality, ImageUtils::scaleUncached);
+    }
+
+    /**
+     * Scales the provided image with the selected quality, bypassing the scaled image cache.
+     * Exact integer factors take a fast path that works directly on the pixel data: shrinking averages each block
+     * of source pixels (or picks one of them, for nearest-neighbour), and enlarging with nearest-neighbour
+     * replicates each source pixel.
+     * @param original The original image which should be scaled.
+     * @param newWidth The target width of the output image.
+     * @param newHeight The target height of the output image.
+     * @param quality The scaling algorithm to use.
+     * @return A new <code>BufferedImage</code> whose content is similar to <code>original</code>, scaled to the
+     *      new height and width.
+     */
+    private static BufferedImage scaleUncached(BufferedImage original, int newWidth, int newHeight, ScalingQuality quality) {
+        int width = original.getWidth();
+        int height = original.getHeight();
+        if (newWidth > 0 && newHeight > 0) {
+            if (width % newWidth == 0 && height % newHeight == 0) {
+                if (quality == ScalingQuality.NEAREST) {
+                    return ImageUtils.decimate(original, width / newWidth, height / newHeight);
+                }
+                // A box filter over whole blocks is at least as good as any of the interpolated modes.
+                return ImageUtils.boxFilter(original, width / newWidth, height / newHeight);
+            }
+            if (quality == ScalingQuality.NEAREST && newWidth % width == 0 && newHeight % height == 0) {
+                return ImageUtils.replicate(original, newWidth / width, newHeight / height);
+            }
+            if (quality == ScalingQuality.PROGRESSIVE) {
+                return ImageUtils.scaleProgressive(original, newWidth, newHeight);
+            }
+        }
+        return ImageUtils.scaleAffine(original, newWidth, newHeight, quality.getInterpolationType());
+    }
+
+    private static BufferedImage scaleAffine(BufferedImage original, int newWidth, int newHeight, int interpolationType) {
         // Create new scaler and filter old image into upsampled image.
         AffineTransform scaleTransform = new AffineTransform();
         scaleTransform.scale((float)newWidth / original.getWidth(), (float)newHeight / original.getHeight());
-        return new AffineTransformOp(scaleTransform, AffineTransformOp.TYPE_BILINEAR).filter(original, null);
+        return new AffineTransformOp(scaleTransform, interpolationType).filter(original, null);
+    }
+
+    private static BufferedImage scaleProgressive(BufferedImage original, int newWidth, int newHeight) {
+        BufferedImage current = original;
+        // Halve each axis while it's still at least twice the target, so no step skips over source pixels.
+        while (current.getWidth() / 2 >= newWidth || current.getHeight() / 2 >= newHeight) {
+            int stepWidth = current.getWidth() / 2 >= newWidth ? current.getWidth() / 2 : current.getWidth();
+            int stepHeight = current.getHeight() / 2 >= newHeight ? current.getHeight() / 2 : current.getHeight();
+            current = ImageUtils.scaleAffine(current, stepWidth, stepHeight, AffineTransformOp.TYPE_BILINEAR);
+        }
+        if (current.getWidth() == newWidth && current.getHeight() == newHeight) {
+            return current;
+        }
+        return ImageUtils.scaleAffine(current, newWidth, newHeight, AffineTransformOp.TYPE_BILINEAR);
+    }
+
+    private static BufferedImage decimate(BufferedImage original, int factorX, int factorY) {
+        int width = original.getWidth();
+        int newWidth = width / factorX;
+        int newHeight = original.getHeight() / factorY;
+        int[] source = original.getRGB(0, 0, width, original.getHeight(), null, 0, width);
+        int[] target = new int[newWidth * newHeight];
+        for (int y = 0; y < newHeight; y++) {
+            // Pick the pixel closest to the centre of each block.
+            int sourceRow = (y * factorY + factorY / 2) * width + factorX / 2;
+            for (int x = 0; x < newWidth; x++) {
+                target[y * newWidth + x] = source[sourceRow + x * factorX];
+            }
+        }
+        return ImageUtils.fromPixels(target, newWidth, newHeight);
+    }
+
+    private static BufferedImage boxFilter(BufferedImage original, int factorX, int factorY) {
+        int width = original.getWidth();
+        int newWidth = width / factorX;
+        int newHeight = original.getHeight() / factorY;
+        int[] source = original.getRGB(0, 0, width, original.getHeight(), null, 0, width);
+        int[] target = new int[newWidth * newHeight];
+        int blockSize = factorX * factorY;
+        for (int y = 0; y < newHeight; y++) {
+            for (int x = 0; x < newWidth; x++) {
+                long alpha = 0;
+                long red = 0;
+                long green = 0;
+                long blue = 0;
+                for (int blockY = 0; blockY < factorY; blockY++) {
+                    int sourceIndex = (y * factorY + blockY) * width + x * factorX;
+                    for (int blockX = 0; blockX < factorX; blockX++) {
+                        int argb = source[sourceIndex + blockX];
+                        int pixelAlpha = argb >>> 24;
+                        // Weight colours by alpha, so transparent pixels don't darken the edges of sprites.
+                        alpha += pixelAlpha;
+                        red += ((argb >> 16) & 0xFF) * pixelAlpha;
+                        green += ((argb >> 8) & 0xFF) * pixelAlpha;
+                        blue += (argb & 0xFF) * pixelAlpha;
+                    }
+                }
+                if (alpha > 0) {
+                    target[y * newWidth + x] = (int) ((alpha + blockSize / 2) / blockSize) << 24 |
+                            (int) (red / alpha) << 16 |
+                            (int) (green / alpha) << 8 |
+                            (int) (blue / alpha);
+                }
+            }
+        }
+        return ImageUtils.fromPixels(target, newWidth, newHeight);
+    }
+
+    private static BufferedImage replicate(BufferedImage original, int factorX, int factorY) {
+        int width = original.getWidth();
+        int height = original.getHeight();
+        int newWidth = width * factorX;
+        int[] source = original.getRGB(0, 0, width, height, null, 0, width);
+        int[] target = new int[newWidth * height * factorY];
+        for (int y = 0; y < height; y++) {
+            int targetRow = y * factorY * newWidth;
+            for (int x = 0; x < width; x++) {
+                int argb = source[y * width + x];
+                for (int copy = 0; copy < factorX; copy++) {
+                    target[targetRow + x * factorX + copy] = argb;
+                }
+            }
+            // The remaining rows of the block are identical to the first.
+            for (int copy = 1; copy < factorY; copy++) {
+                System.arraycopy(target, targetRow, target, targetRow + copy * newWidth, newWidth);
+            }
+        }
+        return ImageUtils.fromPixels(target, newWidth, height * factorY);
+    }
+
+    private static BufferedImage fromPixels(int[] argbPixels, int width, int height) {
+        BufferedImage image = ImageAllocator.createCompatibleImage(width, height);
+        image.setRGB(0, 0, width, height, argbPixels, 0, width);
+        return image;
+    }
+
+    /**
+     * @return The cache backing {@link #scale(BufferedImage, int, int, ScalingQuality)}, exposed so that its hit
+     *      and miss counters can be inspected.
+     */
+    public static ScaledImageCache getScaledImageCache() {
+        return SCALE_CACHE;
     }
 
     /**
@@ -44,11 +238,24 @@ public class ImageUtils {
      * are equal to <code>newSize</code>.
      * @param original The original image which should be scaled.
      * @param newSize The target width and target height of the output image.
-     * @return A new <code>BufferedImage</code> whose content is similar to <code>original</code>, scaled to the
+     * @return A <code>BufferedImage</code> whose content is similar to <code>original</code>, scaled to the
      *      new height and width.
      */
     public static BufferedImage scaleSquare(BufferedImage original, int newSize) {
-        return scale(original, newSize, newSize);
+        return ImageUtils.scaleSquare(original, newSize, ScalingQuality.BILINEAR);
+    }
+
+    /**
+     * Scales the provided image, with the selected speed/quality tradeoff, so that its width and height
+     * are equal to <code>newSize</code>.
+     * @param original The original image which should be scaled.
+     * @param newSize The target width and target height of the output image.
+     * @param quality The scaling algorithm to use.
+     * @return A <code>BufferedImage</code> whose content is similar to <code>original</code>, scaled to the
+     *      new height and width.
+     */
+    public static BufferedImage scaleSquare(BufferedImage original, int newSize, ScalingQuality quality) {
+        return ImageUtils.scale(original, newSize, newSize, quality);
     }
 
     /**
@@ -72,8 +279,11 @@ public class ImageUtils {
      * the bottom-right corner of the image.
      */
     public static Point bottomRightAlignedPoints(String text, BufferedImage alignedAgainst, Font font) {
-        FontMetrics fontMetrics = alignedAgainst.getGraphics().getFontMetrics(font);
-        Rectangle2D stringRectangle = fontMetrics.getStringBounds(text, alignedAgainst.getGraphics());
+        Rectangle2D stringRectangle;
+        try (DrawingScope scope = DrawingScope.on(alignedAgainst)) {
+            FontMetrics fontMetrics = scope.getGraphics().getFontMetrics(font);
+            stringRectangle = fontMetrics.getStringBounds(text, scope.getGraphics());
+        }
         int startY = alignedAgainst.getHeight() - (int)Math.ceil(stringRectangle.getHeight());
         int startX = alignedAgainst.getWidth() - (int)Math.ceil(stringRectangle.getWidth());
         return new Point(startX, startY);
@@ -103,84 +313,128 @@ public class ImageUtils {
     /**
      * Generates an image, with word wrap, using the selected text.
      * The output image will have a fixed width and will have an output height depending on the amount of text rendered.
+     * The layout and the image are cached by text, font and width, so the returned image may be shared with other
+     * callers and must not be modified.
      * @param textToRender The text to render on the image.
      * @param graphics The graphics object, containing the font used to render the text.
      * @param fixedWidth The width of the output image. The height will be variable.
      * @return The output image with variable height, consisting of the provided text.
      */
     public static BufferedImage getTextImageScrollVertical(String textToRender, Graphics graphics, int fixedWidth) {
-        ArrayList<String> textRows = ImageUtils.wrappedText(textToRender, graphics, fixedWidth, textToRender.length());
-        if (textRows.size() == 0) {
-            return new BufferedImage(0, 0, BufferedImage.TYPE_INT_ARGB);
-        }
-        int sizePerRow = (int)Math.ceil(graphics.getFontMetrics().getStringBounds(textRows.get(0), graphics).getHeight());
-        BufferedImage outputImage = new BufferedImage(fixedWidth, sizePerRow * (1 + textRows.size()), BufferedImage.TYPE_INT_ARGB);
-        int offset = sizePerRow;
-        outputImage.getGraphics().setFont(graphics.getFont());
-        for(String line : textRows) {
-            outputImage.getGraphics().drawString(line, 0, offset);
-            offset += sizePerRow;
-        }
-        return outputImage;
+        return ImageUtils.getWrappedText(textToRender, graphics, fixedWidth).getImage();
     }
 
-    private static ArrayList<String> wrappedText(String longText, Graphics graphics, int maximumWidth, int suggestedLength) {
-        // Bounded search for the number of characters than can be rendered.
-        // Find max length from the start of the string
-        if (longText.isEmpty()) {
-            return new ArrayList<>();
+    /**
+     * Word-wraps the selected text to a fixed width, reusing a cached layout when the same text has already been
+     * wrapped with the same font and width.
+     * @param text The text to wrap.
+     * @param graphics The graphics object, containing the font used to measure the text.
+     * @param fixedWidth The maximum width of a single line.
+     * @return The wrapped text, which can be rasterized with {@link WrappedText#getImage()}.
+     */
+    public static WrappedText getWrappedText(String text, Graphics graphics, int fixedWidth) {
+        return TEXT_LAYOUT_CACHE.getOrWrap(
+                text,
+                graphics.getFont(),
+                fixedWidth,
+                (toWrap, font, width) -> {
+                    ArrayList<String> textRows = ImageUtils.wrappedText(toWrap, graphics, width);
+                    int sizePerRow = 0;
+                    if (textRows.size() > 0) {
+                        sizePerRow = (int)Math.ceil(graphics.getFontMetrics().getStringBounds(textRows.get(0), graphics).getHeight());
+                    }
+                    return new WrappedText(textRows, font, width, sizePerRow);
+                }
+        );
+    }
+
+    /**
+     * Splits text into lines that fit within a maximum width, breaking at the last space that fits and at every
+     * newline. Words that are wider than a full line are broken at the last character that fits.
+     * The text is scanned once from start to end, remembering where the last word that fit on the current line
+     * ended. Each candidate line is measured as a whole, so kerning and ligatures are accounted for.
+     * @param text The text to wrap.
+     * @param graphics The graphics object, containing the font used to measure the text.
+     * @param maximumWidth The maximum width of a line, in pixels.
+     * @return The wrapped lines, with surrounding whitespace trimmed.
+     */
+    private static ArrayList<String> wrappedText(String text, Graphics graphics, int maximumWidth) {
+        ArrayList<String> result = new ArrayList<>();
+        int length = text.length();
+        if (length == 0) {
+            return result;
         }
-        int max_chars = longText.length();
-        int min_chars = 1;
-        int current = Math.min(suggestedLength, longText.length());
-        while (max_chars != min_chars) {
-            Rectangle2D bounds = graphics.getFontMetrics().getStringBounds(longText.substring(0, current), graphics);
-            int stringWidth = (int)Math.ceil(bounds.getWidth());
-            if (stringWidth > maximumWidth) {
-                // Must choose a smaller string.
-                max_chars = current - 1;
-                // Linear interpolation for next string size.
-                float charsPerPixel = (float)current / stringWidth;
-                current = Math.round(charsPerPixel * maximumWidth);
-                // Make sure that we converge and stay within bounds.
-                current = Math.max(Math.min(current, max_chars), min_chars);
+
+        FontMetrics fontMetrics = graphics.getFontMetrics();
+        int lineStart = ImageUtils.skipSpaces(text, 0);
+        // The end of the last word that fits on the current line; the line breaks there if the next word doesn't fit.
+        int lastBreak = -1;
+        int position = lineStart;
+        while (position < length) {
+            char character = text.charAt(position);
+            if (character == '\n') {
+                // Hard cutoff; newlines should be rendered that way.
+                result.add(text.substring(lineStart, position).trim());
+                lineStart = ImageUtils.skipSpaces(text, position + 1);
+                lastBreak = -1;
+                position = lineStart;
+                continue;
             }
-            else if (stringWidth == maximumWidth) {
-                // Exact match.
-                break;
+            if (character == ' ') {
+                position++;
+                continue;
             }
-            else {
-                // Should look for a larger string, where possible. But this one works too.
-                min_chars = current;
-                // Linear interpolation for next string size.
-                float charsPerPixel = (float)current / stringWidth;
-                int guess = Math.round(charsPerPixel * maximumWidth);
-                // Make sure that we converge and stay within bounds.
-                current = Math.min(max_chars, Math.max(current + 1, guess));
+
+            int wordEnd = position;
+            while (wordEnd < length && text.charAt(wordEnd) != ' ' && text.charAt(wordEnd) != '\n') {
+                wordEnd++;
+            }
+            if (ImageUtils.fits(fontMetrics, graphics, text, lineStart, wordEnd, maximumWidth)) {
+                lastBreak = wordEnd;
+                position = wordEnd;
+                continue;
+            }
+            if (lastBreak != -1) {
+                // Move the word that didn't fit onto the next line.
+                result.add(text.substring(lineStart, lastBreak).trim());
+                lineStart = ImageUtils.skipSpaces(text, lastBreak);
+                lastBreak = -1;
+                position = lineStart;
+                continue;
             }
-        }
 
-        String substring = longText.substring(0, current).trim();
-        int adjustedIndex = current;
-        if (substring.contains(" ") && current != longText.length()) {
-            // We'll shrink the substring to prevent cutting off words halfway.
-            // Don't do this if we render the full string, though, since this produces one word on the next line.
-            int spaceLocation = substring.lastIndexOf(" ");
-            adjustedIndex = spaceLocation + 1;
-            substring = longText.substring(0, adjustedIndex).trim();
+            // The word is wider than a whole line, so break it at the last character that fits. A line always keeps
+            // at least one character, so that wrapping makes progress.
+            int lineEnd = position + 1;
+            while (lineEnd < wordEnd && ImageUtils.fits(fontMetrics, graphics, text, lineStart, lineEnd + 1, maximumWidth)) {
+                lineEnd++;
+            }
+            result.add(text.substring(lineStart, lineEnd));
+            lineStart = lineEnd;
+            position = lineEnd;
         }
-        if (substring.contains("\n")) {
-            // Hard cutoff; newlines should be rendered that way.
-            int newLineLocation = substring.indexOf("\n");
-            adjustedIndex = newLineLocation + 1;
-            substring = longText.substring(0, adjustedIndex).trim();
+        if (lineStart < length) {
+            result.add(text.substring(lineStart).trim());
         }
-        String remaining = longText.substring(adjustedIndex);
-
-        ArrayList<String> result = new ArrayList<>();
-        result.add(substring);
-        result.addAll(ImageUtils.wrappedText(remaining, graphics, maximumWidth, current));
         return result;
     }
 
+    /**
+     * @return Whether the characters of <code>text</code> from <code>start</code> up to <code>end</code> fit within
+     *      the maximum width when drawn as a single run.
+     */
+    private static boolean fits(FontMetrics fontMetrics, Graphics graphics, String text, int start, int end, int maximumWidth) {
+        return Math.ceil(fontMetrics.getStringBounds(text, start, end, graphics).getWidth()) <= maximumWidth;
+    }
+
+    /**
+     * @return The index of the first character at or after <code>index</code> that isn't a space.
+     */
+    private static int skipSpaces(String text, int index) {
+        while (index < text.length() && text.charAt(index) == ' ') {
+            index++;
+        }
+        return index;
+    }
+
 }
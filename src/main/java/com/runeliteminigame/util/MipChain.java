@@ -0,0 +1,95 @@
+package com.runeliteminigame.util;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.function.IntFunction;
+
+/**
+ * A chain of square images of the same content at power-of-two sizes, for drawing that content at sizes that change
+ * continuously, such as while zooming.
+ *
+ * Each level is rendered once, when it is first needed, and kept until the chain is discarded. Asking for the content
+ * at any size then only shrinks the smallest level that is at least that size, by less than a factor of two, rather
+ * than rendering the content again. The result always has exactly the requested size, so it is drawn without any
+ * further scaling; results are kept by {@link ImageUtils}' scaled image cache, so a size that is used repeatedly,
+ * such as that of a tile that isn't zoomed in, is only shrunk once.
+ * A chain is not thread-safe.
+ */
+public class MipChain {
+
+    public static final int MINIMUM_LEVEL_SIZE = 16;
+
+    private final IntFunction<BufferedImage> renderer;
+    private final int maximumLevelSize;
+    // Indexed by the base-2 logarithm of the level's size, relative to MINIMUM_LEVEL_SIZE.
+    private final BufferedImage[] levels;
+
+    /**
+     * @param renderer Renders the content at a given size, returning an image of that size in both dimensions.
+     *                 The returned images are kept by the chain, so must not be modified afterwards.
+     * @param maximumLevelSize The size of the largest level. Rounded down to a power of two, and to at least
+     *                         {@link #MINIMUM_LEVEL_SIZE}.
+     */
+    public MipChain(IntFunction<BufferedImage> renderer, int maximumLevelSize) {
+        this.renderer = renderer;
+        this.maximumLevelSize = Math.max(MINIMUM_LEVEL_SIZE, Integer.highestOneBit(maximumLevelSize));
+        this.levels = new BufferedImage[levelIndex(this.maximumLevelSize) + 1];
+    }
+
+    /**
+     * @param size The size the content is to be drawn at.
+     * @return The size of the level that content of that size is taken from: the smallest level that is at least
+     *      <code>size</code>, or the largest level if there is none.
+     */
+    public int getLevelSize(int size) {
+        if (size <= MINIMUM_LEVEL_SIZE) {
+            return MINIMUM_LEVEL_SIZE;
+        }
+        if (size >= this.maximumLevelSize) {
+            return this.maximumLevelSize;
+        }
+        int below = Integer.highestOneBit(size);
+        return below == size ? size : below * 2;
+    }
+
+    /**
+     * @param size The size the content is to be drawn at.
+     * @return The content at exactly that size, in both dimensions, shrunk from the level given by
+     *      {@link #getLevelSize(int)}; or null if the content couldn't be rendered. The image is shared and must not
+     *      be modified.
+     */
+    public BufferedImage get(int size) {
+        BufferedImage level = this.getLevel(this.getLevelSize(size));
+        if (level == null || size <= 0) {
+            return null;
+        }
+        // Returns the level itself when it already has the requested size.
+        return ImageUtils.scale(level, size, size, ScalingQuality.BILINEAR);
+    }
+
+    private BufferedImage getLevel(int levelSize) {
+        int index = levelIndex(levelSize);
+        if (this.levels[index] == null) {
+            this.levels[index] = this.renderer.apply(levelSize);
+        }
+        return this.levels[index];
+    }
+
+    /**
+     * Draws the content at the given size, from {@link #get(int)}.
+     * @param graphics The graphics to draw onto.
+     * @param x The x coordinate of the left edge of the content.
+     * @param y The y coordinate of the top edge of the content.
+     * @param size The width and height to draw the content at.
+     */
+    public void draw(Graphics2D graphics, int x, int y, int size) {
+        BufferedImage image = this.get(size);
+        if (image != null) {
+            graphics.drawImage(image, x, y, null);
+        }
+    }
+
+    private static int levelIndex(int levelSize) {
+        return Integer.numberOfTrailingZeros(levelSize) - Integer.numberOfTrailingZeros(MINIMUM_LEVEL_SIZE);
+    }
+}
@@ -0,0 +1,231 @@
+package com.runeliteminigame.util;
+
+import java.awt.image.BufferedImage;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of scaled images, keyed by the identity of the source image, the version of its content, the target size
+ * and the scaling quality.
+ *
+ * Source images are only weakly referenced, so an entry never keeps its source alive; entries whose source
+ * has been collected are purged on the next access. Entries are evicted in least-recently-used order once
+ * the estimated size of all cached images exceeds the byte budget.
+ *
+ * Images returned by the cache are shared between callers and must be treated as read-only.
+ * A source image whose content changes must be given a new version every time it changes, so that copies scaled
+ * from its previous content are no longer returned; they are evicted like any other unused entry.
+ */
+public class ScaledImageCache {
+
+    private final long byteBudget;
+    private final LinkedHashMap<Key, BufferedImage> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final ReferenceQueue<BufferedImage> collectedSources = new ReferenceQueue<>();
+    private long currentBytes = 0;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Functional interface used to produce a scaled image when the cache does not already contain one.
+     */
+    public interface Scaler {
+        BufferedImage scale(BufferedImage original, int newWidth, int newHeight, ScalingQuality quality);
+    }
+
+    /**
+     * Creates a new, empty cache.
+     * @param byteBudget The approximate maximum number of bytes of pixel data that the cache may hold.
+     */
+    public ScaledImageCache(long byteBudget) {
+        this.byteBudget = byteBudget;
+    }
+
+    /**
+     * Returns the cached scaled image for the given parameters, creating it with <code>scaler</code> on a miss.
+     * @param original The source image.
+     * @param newWidth The target width.
+     * @param newHeight The target height.
+     * @param quality The scaling quality, as passed to <code>scaler</code>.
+     * @param scaler The function used to create the scaled image on a cache miss.
+     * @return The scaled image. This image is shared and must not be modified.
+     */
+    public BufferedImage getOrScale(BufferedImage original, int newWidth, int newHeight, ScalingQuality quality, Scaler scaler) {
+        return this.getOrScale(original, 0, newWidth, newHeight, quality, scaler);
+    }
+
+    /**
+     * Returns the cached scaled image for the given version of the source's content, creating it with
+     * <code>scaler</code> on a miss.
+     * @param original The source image.
+     * @param version The version of the source's content, which the owner of the source changes whenever the
+     *                content changes.
+     * @param newWidth The target width.
+     * @param newHeight The target height.
+     * @param quality The scaling quality, as passed to <code>scaler</code>.
+     * @param scaler The function used to create the scaled image on a cache miss.
+     * @return The scaled image. This image is shared and must not be modified.
+     */
+    public BufferedImage getOrScale(BufferedImage original, int version, int newWidth, int newHeight, ScalingQuality quality, Scaler scaler) {
+        Key lookup = new Key(original, version, newWidth, newHeight, quality, null);
+        synchronized (this) {
+            this.purgeCollected();
+            BufferedImage cached = this.entries.get(lookup);
+            if (cached != null) {
+                this.hits.incrementAndGet();
+                return cached;
+            }
+        }
+
+        // Scale outside of the lock; two threads racing on the same key just produce the same image twice.
+        this.misses.incrementAndGet();
+        BufferedImage scaled = scaler.scale(original, newWidth, newHeight, quality);
+        long size = estimateBytes(scaled);
+        if (size > this.byteBudget) {
+            // Would evict everything else and still not fit.
+            return scaled;
+        }
+
+        synchronized (this) {
+            Key key = new Key(original, version, newWidth, newHeight, quality, this.collectedSources);
+            BufferedImage previous = this.entries.put(key, scaled);
+            if (previous != null) {
+                this.currentBytes -= estimateBytes(previous);
+            }
+            this.currentBytes += size;
+            this.evictToBudget();
+        }
+        return scaled;
+    }
+
+    /**
+     * Removes every entry from the cache. The hit and miss counters are left untouched.
+     */
+    public synchronized void clear() {
+        this.entries.clear();
+        this.currentBytes = 0;
+    }
+
+    public long getHits() {
+        return this.hits.get();
+    }
+
+    public long getMisses() {
+        return this.misses.get();
+    }
+
+    public long getEvictions() {
+        return this.evictions.get();
+    }
+
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    public synchronized long getCurrentBytes() {
+        return this.currentBytes;
+    }
+
+    public long getByteBudget() {
+        return this.byteBudget;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "ScaledImageCache[hits=%d, misses=%d, evictions=%d, entries=%d, bytes=%d/%d]",
+                this.getHits(),
+                this.getMisses(),
+                this.getEvictions(),
+                this.size(),
+                this.getCurrentBytes(),
+                this.byteBudget
+        );
+    }
+
+    private void evictToBudget() {
+        Iterator<Map.Entry<Key, BufferedImage>> iterator = this.entries.entrySet().iterator();
+        while (this.currentBytes > this.byteBudget && iterator.hasNext()) {
+            Map.Entry<Key, BufferedImage> eldest = iterator.next();
+            this.currentBytes -= estimateBytes(eldest.getValue());
+            iterator.remove();
+            this.evictions.incrementAndGet();
+        }
+    }
+
+    private void purgeCollected() {
+        SourceReference collected;
+        while ((collected = (SourceReference) this.collectedSources.poll()) != null) {
+            BufferedImage removed = this.entries.remove(collected.owner);
+            if (removed != null) {
+                this.currentBytes -= estimateBytes(removed);
+            }
+        }
+    }
+
+    private static long estimateBytes(BufferedImage image) {
+        int bitsPerPixel = image.getColorModel().getPixelSize();
+        return (long) image.getWidth() * image.getHeight() * Math.max(1, bitsPerPixel / 8);
+    }
+
+    private static final class SourceReference extends WeakReference<BufferedImage> {
+        private final Key owner;
+
+        private SourceReference(BufferedImage referent, Key owner, ReferenceQueue<BufferedImage> queue) {
+            super(referent, queue);
+            this.owner = owner;
+        }
+    }
+
+    private static final class Key {
+        private final SourceReference source;
+        private final int version;
+        private final int width;
+        private final int height;
+        private final ScalingQuality quality;
+        private final int hash;
+
+        private Key(BufferedImage source, int version, int width, int height, ScalingQuality quality, ReferenceQueue<BufferedImage> queue) {
+            this.source = new SourceReference(source, this, queue);
+            this.version = version;
+            this.width = width;
+            this.height = height;
+            this.quality = quality;
+            int result = System.identityHashCode(source);
+            result = 31 * result + version;
+            result = 31 * result + width;
+            result = 31 * result + height;
+            result = 31 * result + quality.ordinal();
+            this.hash = result;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            BufferedImage referent = this.source.get();
+            // A collected source never equals anything but itself; it's purged on the next access.
+            return referent != null &&
+                    referent == key.source.get() &&
+                    this.version == key.version &&
+                    this.width == key.width &&
+                    this.height == key.height &&
+                    this.quality == key.quality;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.runeliteminigame.util;
+
+import java.awt.image.AffineTransformOp;
+
+/**
+ * The speed/quality tradeoff used when scaling an image with {@link ImageUtils#scale(java.awt.image.BufferedImage, int, int, ScalingQuality)}.
+ */
+public enum ScalingQuality {
+    /**
+     * Copies the closest source pixel. Fastest, and keeps pixel art crisp, but aliases badly when shrinking.
+     */
+    NEAREST(AffineTransformOp.TYPE_NEAREST_NEIGHBOR),
+    /**
+     * Blends the four closest source pixels. Good for small size changes.
+     */
+    BILINEAR(AffineTransformOp.TYPE_BILINEAR),
+    /**
+     * Blends the sixteen closest source pixels. Smoother than bilinear when enlarging, at a higher cost.
+     */
+    BICUBIC(AffineTransformOp.TYPE_BICUBIC),
+    /**
+     * Shrinks in repeated bilinear halving steps, so that every source pixel contributes to the result.
+     * Slowest, but avoids the aliasing that a single bilinear step produces when shrinking by more than half.
+     * Enlarging is done in a single bilinear step.
+     */
+    PROGRESSIVE(AffineTransformOp.TYPE_BILINEAR);
+
+    private final int interpolationType;
+
+    ScalingQuality(int interpolationType) {
+        this.interpolationType = interpolationType;
+    }
+
+    /**
+     * @return The <code>AffineTransformOp</code> interpolation type used for a single scaling step.
+     */
+    int getInterpolationType() {
+        return this.interpolationType;
+    }
+}
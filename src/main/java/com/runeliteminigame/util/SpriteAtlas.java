@@ -0,0 +1,159 @@
+package com.runeliteminigame.util;
+
+import com.runeliteminigame.IMinigamePlugin;
+import net.runelite.api.SpriteID;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+
+/**
+ * Packs commonly used tile sprites, pre-scaled, into a single image per tile size.
+ *
+ * Drawing a sprite from the atlas is a single sub-image blit with no scaling and no allocation. Pages are built
+ * lazily the first time a size is requested, and are rebuilt if a sprite that was still loading at the time
+ * becomes available. Only a handful of sizes are kept; the least recently built page is replaced when a new
+ * size is requested.
+ */
+public class SpriteAtlas {
+
+    /**
+     * The sprites held by the atlas, in the order in which they're packed into each page.
+     */
+    public enum Entry {
+        BANK_TAB_EMPTY(SpriteID.BANK_TAB_EMPTY),
+        BANK_TAB_HOVERED(SpriteID.BANK_TAB_HOVERED),
+        BANK_TAB_SELECTED(SpriteID.BANK_TAB_SELECTED),
+        // Not a client sprite; comes from CommonImages.
+        TASK_COMPLETE(-1);
+
+        private final int spriteID;
+
+        Entry(int spriteID) {
+            this.spriteID = spriteID;
+        }
+    }
+
+    private static final Entry[] ENTRIES = Entry.values();
+    // The toolbar, the board and the completion checkmarks each use one or two sizes.
+    private static final int MAX_PAGES = 8;
+
+    private static final class Page {
+        private final int width;
+        private final int height;
+        private final BufferedImage image;
+        private int builtGeneration;
+
+        private Page(int width, int height) {
+            this.width = width;
+            this.height = height;
+            this.image = ImageAllocator.createCompatibleImage(width * ENTRIES.length, height);
+            this.builtGeneration = -1;
+        }
+    }
+
+    private final IMinigamePlugin plugin;
+    private final BufferedImage[] sources = new BufferedImage[ENTRIES.length];
+    private final Page[] pages = new Page[MAX_PAGES];
+    private int nextPageSlot = 0;
+    // Incremented whenever a previously missing source sprite becomes available.
+    private int generation = 0;
+
+    public SpriteAtlas(IMinigamePlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Draws a sprite from the atlas, scaled to the given size.
+     * If the sprite hasn't finished loading yet, nothing is drawn.
+     * @param graphics The graphics object to draw on.
+     * @param entry The sprite to draw.
+     * @param x The x position of the sprite's top-left corner.
+     * @param y The y position of the sprite's top-left corner.
+     * @param width The width at which the sprite should be drawn.
+     * @param height The height at which the sprite should be drawn.
+     * @return Whether the sprite was drawn; false if it hasn't finished loading yet. Callers that keep what they
+     *      drew should draw it again later.
+     */
+    public synchronized boolean draw(Graphics graphics, Entry entry, int x, int y, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            return true;
+        }
+        this.loadMissingSources();
+        if (this.sources[entry.ordinal()] == null) {
+            return false;
+        }
+        Page page = this.getPage(width, height);
+        int sourceX = entry.ordinal() * width;
+        graphics.drawImage(page.image, x, y, x + width, y + height, sourceX, 0, sourceX + width, height, null);
+        return true;
+    }
+
+    /**
+     * @return A number that changes whenever a sprite that was still loading becomes available.
+     *      Callers that keep their own copies of drawn sprites should redraw them when this changes.
+     */
+    public synchronized int getGeneration() {
+        this.loadMissingSources();
+        return this.generation;
+    }
+
+    private void loadMissingSources() {
+        for (Entry entry : ENTRIES) {
+            if (this.sources[entry.ordinal()] != null) {
+                continue;
+            }
+            BufferedImage source;
+            if (entry == Entry.TASK_COMPLETE) {
+                source = CommonImages.getTaskCompleteImage();
+            } else {
+                source = this.plugin.getSprite(entry.spriteID);
+            }
+            if (source != null) {
+                this.sources[entry.ordinal()] = source;
+                this.generation++;
+            }
+        }
+    }
+
+    private Page getPage(int width, int height) {
+        Page page = null;
+        for (Page candidate : this.pages) {
+            if (candidate != null && candidate.width == width && candidate.height == height) {
+                page = candidate;
+                break;
+            }
+        }
+        if (page == null) {
+            page = new Page(width, height);
+            this.pages[this.nextPageSlot] = page;
+            this.nextPageSlot = (this.nextPageSlot + 1) % MAX_PAGES;
+        }
+        if (page.builtGeneration != this.generation) {
+            this.buildPage(page);
+        }
+        return page;
+    }
+
+    private void buildPage(Page page) {
+        try (DrawingScope scope = DrawingScope.on(page.image)) {
+            // Pages are rebuilt in place whenever a sprite loads. The sprites are translucent, so drawing them over
+            // the previous copy would darken them with every rebuild; each slot is replaced instead.
+            scope.clear();
+            scope.getGraphics().setComposite(AlphaComposite.Src);
+            for (Entry entry : ENTRIES) {
+                BufferedImage source = this.sources[entry.ordinal()];
+                if (source != null) {
+                    scope.getGraphics().drawImage(
+                            // Sprites are enlarged, but the checkmark is shrunk a long way.
+                            ImageUtils.scale(source, page.width, page.height, ScalingQuality.PROGRESSIVE),
+                            entry.ordinal() * page.width,
+                            0,
+                            null
+                    );
+                }
+            }
+        }
+        page.builtGeneration = this.generation;
+    }
+}
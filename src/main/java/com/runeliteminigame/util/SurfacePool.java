@@ -0,0 +1,142 @@
+package com.runeliteminigame.util;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A pool of reusable drawing surfaces, for images that only live for the duration of a single draw.
+ *
+ * Surfaces are keyed by size and transparency. A surface that is released can be handed out again by a later
+ * {@link #acquire(int, int, int)} with the same key, so that redrawing the same elements repeatedly stops
+ * allocating once the pool has seen each size. The pool is bounded both per key and in total, and surfaces that
+ * don't fit are left to the garbage collector.
+ */
+public class SurfacePool {
+
+    private static final int DEFAULT_MAX_PER_KEY = 4;
+    private static final long DEFAULT_MAX_POOLED_BYTES = 8L * 1024 * 1024;
+
+    private final int maxPerKey;
+    private final long maxPooledBytes;
+    private final Map<Key, ArrayDeque<BufferedImage>> freeSurfaces = new HashMap<>();
+    private long pooledBytes = 0;
+
+    public SurfacePool() {
+        this(DEFAULT_MAX_PER_KEY, DEFAULT_MAX_POOLED_BYTES);
+    }
+
+    /**
+     * @param maxPerKey The largest number of free surfaces kept for any one size and transparency.
+     * @param maxPooledBytes The largest total size, in bytes, of the free surfaces kept by the pool.
+     */
+    public SurfacePool(int maxPerKey, long maxPooledBytes) {
+        this.maxPerKey = maxPerKey;
+        this.maxPooledBytes = maxPooledBytes;
+    }
+
+    /**
+     * Gets a translucent surface from the pool, or allocates one if none is free.
+     * @param width The width of the surface.
+     * @param height The height of the surface.
+     * @return A fully transparent surface with the requested size.
+     */
+    public BufferedImage acquire(int width, int height) {
+        return this.acquire(width, height, Transparency.TRANSLUCENT);
+    }
+
+    /**
+     * Gets a surface from the pool, or allocates one if none is free.
+     * @param width The width of the surface.
+     * @param height The height of the surface.
+     * @param transparency One of the <code>Transparency</code> constants.
+     * @return A surface with the requested size, cleared as if newly allocated: translucent and bitmask surfaces
+     *      are fully transparent, and opaque surfaces are black.
+     */
+    public BufferedImage acquire(int width, int height, int transparency) {
+        BufferedImage surface = null;
+        synchronized (this) {
+            ArrayDeque<BufferedImage> free = this.freeSurfaces.get(new Key(width, height, transparency));
+            if (free != null) {
+                surface = free.pollFirst();
+                if (surface != null) {
+                    this.pooledBytes -= sizeInBytes(surface);
+                }
+            }
+        }
+        if (surface == null) {
+            return ImageAllocator.createCompatibleImage(width, height, transparency);
+        }
+        // Clear writes transparent black, which an opaque surface stores as plain black.
+        Graphics2D graphics = surface.createGraphics();
+        graphics.setComposite(AlphaComposite.Clear);
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+        return surface;
+    }
+
+    /**
+     * Returns a surface to the pool. The caller must not use the surface, or any reference to it, afterwards.
+     * @param surface A surface obtained from {@link #acquire(int, int, int)}.
+     */
+    public void release(BufferedImage surface) {
+        if (surface == null || surface.getWidth() <= 0 || surface.getHeight() <= 0) {
+            return;
+        }
+        long size = sizeInBytes(surface);
+        Key key = new Key(surface.getWidth(), surface.getHeight(), surface.getTransparency());
+        synchronized (this) {
+            if (this.pooledBytes + size > this.maxPooledBytes) {
+                return;
+            }
+            ArrayDeque<BufferedImage> free = this.freeSurfaces.computeIfAbsent(key, k -> new ArrayDeque<>());
+            if (free.size() >= this.maxPerKey) {
+                return;
+            }
+            free.addFirst(surface);
+            this.pooledBytes += size;
+        }
+    }
+
+    /**
+     * Drops every free surface.
+     */
+    public synchronized void clear() {
+        this.freeSurfaces.clear();
+        this.pooledBytes = 0;
+    }
+
+    private static long sizeInBytes(BufferedImage image) {
+        return (long) image.getWidth() * image.getHeight() * Math.max(1, image.getColorModel().getPixelSize() / 8);
+    }
+
+    private static final class Key {
+        private final int width;
+        private final int height;
+        private final int transparency;
+
+        Key(int width, int height, int transparency) {
+            this.width = width;
+            this.height = height;
+            this.transparency = transparency;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return this.width == key.width && this.height == key.height && this.transparency == key.transparency;
+        }
+
+        @Override
+        public int hashCode() {
+            return (this.width * 31 + this.height) * 31 + this.transparency;
+        }
+    }
+}
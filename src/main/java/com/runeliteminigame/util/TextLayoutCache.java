@@ -0,0 +1,86 @@
+package com.runeliteminigame.util;
+
+import java.awt.Font;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Bounded cache of {@link WrappedText}, keyed by the text, the font and the wrap width.
+ * Once full, the least recently used layout is evicted.
+ */
+public class TextLayoutCache {
+
+    private final LinkedHashMap<Key, WrappedText> entries;
+
+    /**
+     * Functional interface used to wrap text when the cache does not already contain a layout for it.
+     */
+    public interface Wrapper {
+        WrappedText wrap(String text, Font font, int width);
+    }
+
+    /**
+     * Creates a new, empty cache.
+     * @param maximumEntries The maximum number of layouts held at once.
+     */
+    public TextLayoutCache(int maximumEntries) {
+        this.entries = new LinkedHashMap<Key, WrappedText>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, WrappedText> eldest) {
+                return this.size() > maximumEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached layout for the given parameters, creating it with <code>wrapper</code> on a miss.
+     * @param text The text to wrap.
+     * @param font The font with which the text is measured and drawn.
+     * @param width The width to which the text is wrapped.
+     * @param wrapper The function used to wrap the text on a cache miss.
+     * @return The wrapped text.
+     */
+    public synchronized WrappedText getOrWrap(String text, Font font, int width, Wrapper wrapper) {
+        Key key = new Key(text, font, width);
+        WrappedText wrapped = this.entries.get(key);
+        if (wrapped == null) {
+            wrapped = wrapper.wrap(text, font, width);
+            this.entries.put(key, wrapped);
+        }
+        return wrapped;
+    }
+
+    public synchronized void clear() {
+        this.entries.clear();
+    }
+
+    private static final class Key {
+        private final String text;
+        private final Font font;
+        private final int width;
+
+        private Key(String text, Font font, int width) {
+            this.text = text;
+            this.font = font;
+            this.width = width;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.text, this.font, this.width);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return this.width == key.width && this.text.equals(key.text) && Objects.equals(this.font, key.font);
+        }
+    }
+}
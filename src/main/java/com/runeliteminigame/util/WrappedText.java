@@ -0,0 +1,102 @@
+package com.runeliteminigame.util;
+
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The result of word-wrapping a piece of text to a fixed width: the wrapped lines, the height of each line and,
+ * once requested, the rasterized text.
+ *
+ * Instances are immutable apart from the lazily created raster, and may be shared between callers through
+ * {@link TextLayoutCache}. The raster must be treated as read-only.
+ */
+public class WrappedText {
+
+    private final List<String> lines;
+    private final Font font;
+    private final int width;
+    private final int lineHeight;
+    private BufferedImage image = null;
+
+    WrappedText(List<String> lines, Font font, int width, int lineHeight) {
+        this.lines = Collections.unmodifiableList(lines);
+        this.font = font;
+        this.width = width;
+        this.lineHeight = lineHeight;
+    }
+
+    public List<String> getLines() {
+        return this.lines;
+    }
+
+    public Font getFont() {
+        return this.font;
+    }
+
+    public int getWidth() {
+        return this.width;
+    }
+
+    public int getLineHeight() {
+        return this.lineHeight;
+    }
+
+    /**
+     * Draws a window of consecutive lines, laid out as in {@link #getImage()}, without rasterizing the rest.
+     * @param graphics The graphics to draw onto. Its font is set to the font the text was wrapped with.
+     * @param firstLine The index of the first line to draw.
+     * @param lineCount The largest number of lines to draw.
+     * @param x The x coordinate of the left edge of the text.
+     * @param y The y coordinate of the top of the window; the first line's baseline is one line height below it.
+     */
+    public void drawLines(Graphics2D graphics, int firstLine, int lineCount, int x, int y) {
+        graphics.setFont(this.font);
+        int lastLine = Math.min(this.lines.size(), firstLine + lineCount);
+        int baseline = y + this.lineHeight;
+        for (int line = Math.max(0, firstLine); line < lastLine; ++line) {
+            graphics.drawString(this.lines.get(line), x, baseline);
+            baseline += this.lineHeight;
+        }
+    }
+
+    /**
+     * @param height The height available to draw the text in.
+     * @return The number of lines that fit within the height when drawn with {@link #drawLines}, at least one.
+     */
+    public int getVisibleLineCount(int height) {
+        if (this.lineHeight <= 0) {
+            return Math.max(1, this.lines.size());
+        }
+        // Lines are drawn one line height below the top, so one line height is always taken up.
+        return Math.max(1, height / this.lineHeight - 1);
+    }
+
+    /**
+     * @return The image containing every wrapped line, one line height apart. It is only rasterized once.
+     */
+    public synchronized BufferedImage getImage() {
+        if (this.image == null) {
+            this.image = this.rasterize();
+        }
+        return this.image;
+    }
+
+    private BufferedImage rasterize() {
+        if (this.lines.size() == 0) {
+            return new BufferedImage(0, 0, BufferedImage.TYPE_INT_ARGB);
+        }
+        BufferedImage outputImage = ImageAllocator.createCompatibleImage(this.width, this.lineHeight * (1 + this.lines.size()));
+        try (DrawingScope scope = DrawingScope.on(outputImage)) {
+            scope.getGraphics().setFont(this.font);
+            int offset = this.lineHeight;
+            for (String line : this.lines) {
+                scope.getGraphics().drawString(line, 0, offset);
+                offset += this.lineHeight;
+            }
+        }
+        return outputImage;
+    }
+}
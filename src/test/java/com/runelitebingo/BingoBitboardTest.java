@@ -0,0 +1,120 @@
+package com.runelitebingo;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BingoBitboardTest {
+
+    @Test
+    public void rowWinsOnSmallBoard() {
+        BingoBitboard board = new BingoBitboard(3, masks(3, WinPattern.ROWS));
+        board.markCompleted(1, 0);
+        board.markCompleted(1, 1);
+        assertFalse(board.hasWon());
+        board.markCompleted(1, 2);
+        assertTrue(board.hasWon());
+    }
+
+    @Test
+    public void columnAcrossWordsWinsOnLargeBoard() {
+        // Column 4 of a 15 by 15 board has tiles in every one of the four words.
+        BingoBitboard board = new BingoBitboard(15, masks(15, WinPattern.COLUMNS));
+        for (int row = 0; row < 14; row++) {
+            board.markCompleted(row, 4);
+        }
+        assertFalse(board.hasWon());
+        board.markCompleted(14, 4);
+        assertTrue(board.hasWon());
+    }
+
+    @Test
+    public void diagonalsWinOnLargeBoard() {
+        BingoBitboard diagonal = new BingoBitboard(15, masks(15, WinPattern.DIAGONALS));
+        BingoBitboard antiDiagonal = new BingoBitboard(15, masks(15, WinPattern.DIAGONALS));
+        for (int i = 0; i < 15; i++) {
+            assertFalse(diagonal.hasWon());
+            assertFalse(antiDiagonal.hasWon());
+            diagonal.markCompleted(i, i);
+            antiDiagonal.markCompleted(14 - i, i);
+        }
+        assertTrue(diagonal.hasWon());
+        assertTrue(antiDiagonal.hasWon());
+    }
+
+    @Test
+    public void lineSpanningLastWordWinsOnLargeBoard() {
+        // Row 14 is bits 210 to 224, the last of which is alone in the fourth word.
+        BingoBitboard board = new BingoBitboard(15, masks(15, WinPattern.ROWS));
+        for (int col = 0; col < 14; col++) {
+            board.markCompleted(14, col);
+        }
+        assertFalse(board.hasWon());
+        board.markCompleted(14, 14);
+        assertTrue(board.hasWon());
+    }
+
+    @Test
+    public void incompleteLinesDontWin() {
+        BingoBitboard board = new BingoBitboard(3, masks(3, WinPattern.ROWS, WinPattern.COLUMNS, WinPattern.DIAGONALS));
+        board.markCompleted(0, 0);
+        board.markCompleted(0, 1);
+        board.markCompleted(1, 2);
+        board.markCompleted(2, 0);
+        board.markCompleted(2, 1);
+        assertFalse(board.hasWon());
+    }
+
+    @Test
+    public void onlyEnabledPatternsWin() {
+        BingoBitboard board = new BingoBitboard(3, masks(3, WinPattern.ROWS));
+        board.markCompleted(0, 1);
+        board.markCompleted(1, 1);
+        board.markCompleted(2, 1);
+        assertFalse(board.hasWon());
+    }
+
+    @Test
+    public void cornersWinOnlyOnceAllFourAreCompleted() {
+        BingoBitboard board = new BingoBitboard(15, masks(15, WinPattern.FOUR_CORNERS));
+        board.markCompleted(0, 0);
+        board.markCompleted(0, 14);
+        board.markCompleted(14, 0);
+        // Tiles next to the last corner don't count.
+        board.markCompleted(14, 13);
+        board.markCompleted(13, 14);
+        assertFalse(board.hasWon());
+        board.markCompleted(14, 14);
+        assertTrue(board.hasWon());
+    }
+
+    @Test
+    public void emptyMasksNeverWin() {
+        List<BitSet> winMasks = new ArrayList<>();
+        winMasks.add(new BitSet());
+        BingoBitboard board = new BingoBitboard(3, winMasks);
+        assertFalse(board.hasWon());
+    }
+
+    @Test
+    public void markingTwiceOnlyCountsOnce() {
+        BingoBitboard board = new BingoBitboard(3, masks(3, WinPattern.ROWS));
+        assertTrue(board.markCompleted(0, 0));
+        assertFalse(board.markCompleted(0, 0));
+        assertTrue(board.isCompleted(0, 0));
+        assertFalse(board.isCompleted(0, 1));
+    }
+
+    static List<BitSet> masks(int boardSize, WinPattern... patterns) {
+        List<BitSet> masks = new ArrayList<>();
+        for (WinPattern pattern : patterns) {
+            masks.addAll(pattern.getMasks(boardSize));
+        }
+        return masks;
+    }
+}
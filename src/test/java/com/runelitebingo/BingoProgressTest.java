@@ -0,0 +1,151 @@
+package com.runelitebingo;
+
+import org.junit.Test;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import static com.runelitebingo.BingoBitboardTest.masks;
+import static com.runelitebingo.WinPatternTest.tiles;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BingoProgressTest {
+
+    @Test
+    public void markingTwiceOnlyCountsOnce() {
+        BingoBitboard board = new BingoBitboard(3, masks(3, WinPattern.ROWS));
+        board.markCompleted(0, 0);
+        board.markCompleted(0, 0);
+        assertEquals(2, board.getProgress().getTasksRemaining());
+    }
+
+    @Test
+    public void duplicateMasksArePruned() {
+        List<BitSet> winMasks = masks(3, WinPattern.ROWS);
+        winMasks.add(tiles(0, 1, 2));
+        winMasks.add(tiles(3, 4, 5));
+        BingoProgress progress = new BingoBitboard(3, winMasks).getProgress();
+        assertEquals(3, progress.getTasksRemaining());
+        assertEquals(3, progress.getClosestPatternCount());
+    }
+
+    @Test
+    public void supersetMasksArePruned() {
+        // The blackout contains every row, and the X contains both diagonals.
+        BingoBitboard board = new BingoBitboard(
+                3,
+                masks(3, WinPattern.ROWS, WinPattern.DIAGONALS, WinPattern.X, WinPattern.BLACKOUT)
+        );
+        BingoProgress progress = board.getProgress();
+        assertEquals(3, progress.getTasksRemaining());
+        assertEquals(5, progress.getClosestPatternCount());
+
+        board.markCompleted(0, 0);
+        board.markCompleted(1, 1);
+        board.markCompleted(2, 2);
+        assertTrue(board.hasWon());
+        assertEquals(1, board.getProgress().getClosestPatternCount());
+    }
+
+    @Test
+    public void partlyOverlappingMasksAreKept() {
+        // The corners only overlap the rows, so neither is pruned.
+        BingoBitboard board = new BingoBitboard(3, masks(3, WinPattern.ROWS, WinPattern.FOUR_CORNERS));
+        board.markCompleted(0, 0);
+        board.markCompleted(0, 2);
+        board.markCompleted(2, 0);
+        BingoProgress progress = board.getProgress();
+        // The top row and the corners each have one tile left.
+        assertEquals(1, progress.getTasksRemaining());
+        assertEquals(2, progress.getClosestPatternCount());
+    }
+
+    @Test
+    public void emptyMasksHaveNoProgress() {
+        List<BitSet> winMasks = new ArrayList<>();
+        winMasks.add(new BitSet());
+        BingoProgress progress = new BingoBitboard(3, winMasks).getProgress();
+        assertEquals(0, progress.getClosestPatternCount());
+        assertEquals(Collections.emptyList(), progress.getKeyTiles());
+    }
+
+    @Test
+    public void keyTilesFollowCompletions() {
+        BingoBitboard board = new BingoBitboard(3, masks(3, WinPattern.ROWS, WinPattern.COLUMNS, WinPattern.DIAGONALS));
+        BingoProgress progress = board.getProgress();
+        assertEquals(3, progress.getTasksRemaining());
+        assertEquals(8, progress.getClosestPatternCount());
+        // The centre is on four patterns, more than any other tile.
+        assertEquals(Collections.singletonList(new Point(1, 1)), progress.getKeyTiles());
+        assertEquals(4, progress.getKeyTilePatternCount());
+
+        board.markCompleted(1, 1);
+        progress = board.getProgress();
+        assertEquals(2, progress.getTasksRemaining());
+        assertEquals(4, progress.getClosestPatternCount());
+        // Every other tile is on exactly one of the patterns through the centre.
+        assertEquals(
+                Arrays.asList(
+                        new Point(0, 0), new Point(1, 0), new Point(2, 0),
+                        new Point(0, 1), new Point(2, 1),
+                        new Point(0, 2), new Point(1, 2), new Point(2, 2)
+                ),
+                progress.getKeyTiles()
+        );
+        assertEquals(1, progress.getKeyTilePatternCount());
+
+        board.markCompleted(0, 0);
+        progress = board.getProgress();
+        assertEquals(1, progress.getTasksRemaining());
+        assertEquals(1, progress.getClosestPatternCount());
+        assertEquals(Collections.singletonList(new Point(2, 2)), progress.getKeyTiles());
+
+        board.markCompleted(0, 2);
+        progress = board.getProgress();
+        assertEquals(1, progress.getTasksRemaining());
+        assertEquals(3, progress.getClosestPatternCount());
+        // Listed in row-major order, as (column, row).
+        assertEquals(Arrays.asList(new Point(1, 0), new Point(0, 2), new Point(2, 2)), progress.getKeyTiles());
+        assertEquals(1, progress.getKeyTilePatternCount());
+
+        board.markCompleted(2, 2);
+        progress = board.getProgress();
+        assertTrue(board.hasWon());
+        assertEquals(0, progress.getTasksRemaining());
+        assertEquals(1, progress.getClosestPatternCount());
+        assertEquals(Collections.emptyList(), progress.getKeyTiles());
+    }
+
+    @Test
+    public void keyTilesSharedByClosestPatterns() {
+        BingoBitboard board = new BingoBitboard(3, masks(3, WinPattern.ROWS, WinPattern.COLUMNS));
+        board.markCompleted(0, 1);
+        board.markCompleted(1, 0);
+        BingoProgress progress = board.getProgress();
+        assertEquals(2, progress.getTasksRemaining());
+        assertEquals(4, progress.getClosestPatternCount());
+        assertEquals(Arrays.asList(new Point(0, 0), new Point(1, 1)), progress.getKeyTiles());
+        assertEquals(2, progress.getKeyTilePatternCount());
+    }
+
+    @Test
+    public void keyTileInLastWordOfLargeBoard() {
+        BingoBitboard board = new BingoBitboard(15, masks(15, WinPattern.ROWS));
+        for (int col = 0; col < 15; col++) {
+            if (col != 13) {
+                board.markCompleted(14, col);
+            }
+        }
+        BingoProgress progress = board.getProgress();
+        assertEquals(1, progress.getTasksRemaining());
+        assertEquals(1, progress.getClosestPatternCount());
+        assertEquals(Collections.singletonList(new Point(13, 14)), progress.getKeyTiles());
+        assertFalse(board.hasWon());
+    }
+}
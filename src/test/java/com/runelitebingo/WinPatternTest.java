@@ -0,0 +1,88 @@
+package com.runelitebingo;
+
+import org.junit.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class WinPatternTest {
+
+    @Test
+    public void rowsOnSmallBoard() {
+        List<BitSet> masks = WinPattern.ROWS.getMasks(3);
+        assertEquals(3, masks.size());
+        assertEquals(tiles(0, 1, 2), masks.get(0));
+        assertEquals(tiles(3, 4, 5), masks.get(1));
+        assertEquals(tiles(6, 7, 8), masks.get(2));
+    }
+
+    @Test
+    public void columnsOnSmallBoard() {
+        List<BitSet> masks = WinPattern.COLUMNS.getMasks(3);
+        assertEquals(3, masks.size());
+        assertEquals(tiles(0, 3, 6), masks.get(0));
+        assertEquals(tiles(1, 4, 7), masks.get(1));
+        assertEquals(tiles(2, 5, 8), masks.get(2));
+    }
+
+    @Test
+    public void rowsAndColumnsOnLargeBoard() {
+        // A 15 by 15 board spans four words, and rows 4 and 8 start partway through a word.
+        List<BitSet> rows = WinPattern.ROWS.getMasks(15);
+        List<BitSet> columns = WinPattern.COLUMNS.getMasks(15);
+        assertEquals(15, rows.size());
+        assertEquals(15, columns.size());
+        for (int i = 0; i < 15; i++) {
+            assertEquals(15, rows.get(i).cardinality());
+            assertEquals(15, columns.get(i).cardinality());
+            for (int j = 0; j < 15; j++) {
+                assertEquals(true, rows.get(i).get(i * 15 + j));
+                assertEquals(true, columns.get(i).get(j * 15 + i));
+            }
+        }
+        assertEquals(tiles(60, 61, 62, 63, 64, 65, 66, 67, 68, 69, 70, 71, 72, 73, 74), rows.get(4));
+    }
+
+    @Test
+    public void diagonals() {
+        List<BitSet> small = WinPattern.DIAGONALS.getMasks(3);
+        assertEquals(2, small.size());
+        assertEquals(tiles(0, 4, 8), small.get(0));
+        assertEquals(tiles(2, 4, 6), small.get(1));
+
+        List<BitSet> large = WinPattern.DIAGONALS.getMasks(15);
+        assertEquals(tiles(0, 16, 32, 48, 64, 80, 96, 112, 128, 144, 160, 176, 192, 208, 224), large.get(0));
+        assertEquals(tiles(14, 28, 42, 56, 70, 84, 98, 112, 126, 140, 154, 168, 182, 196, 210), large.get(1));
+    }
+
+    @Test
+    public void fourCorners() {
+        List<BitSet> small = WinPattern.FOUR_CORNERS.getMasks(3);
+        assertEquals(1, small.size());
+        assertEquals(tiles(0, 2, 6, 8), small.get(0));
+
+        List<BitSet> large = WinPattern.FOUR_CORNERS.getMasks(15);
+        assertEquals(1, large.size());
+        assertEquals(tiles(0, 14, 210, 224), large.get(0));
+    }
+
+    @Test
+    public void xAndBlackout() {
+        assertEquals(tiles(0, 2, 4, 6, 8), WinPattern.X.getMasks(3).get(0));
+        assertEquals(29, WinPattern.X.getMasks(15).get(0).cardinality());
+
+        BitSet blackout = WinPattern.BLACKOUT.getMasks(15).get(0);
+        assertEquals(225, blackout.cardinality());
+        assertEquals(224, blackout.previousSetBit(Integer.MAX_VALUE - 1));
+    }
+
+    static BitSet tiles(int... bits) {
+        BitSet mask = new BitSet();
+        for (int bit : bits) {
+            mask.set(bit);
+        }
+        return mask;
+    }
+}